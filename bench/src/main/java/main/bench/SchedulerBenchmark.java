@@ -0,0 +1,72 @@
+package main.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import main.ProcessTable;
+import main.SchedulerFactory;
+import main.TableScheduler;
+import main.WorkloadGenerator;
+import main.algorithms.MultiCore;
+
+// Every run schedules a fresh copy of the workload; copyOnly measures that copy on its own
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SchedulerBenchmark {
+
+    @Param({"FCFS", "SRTF", "RR", "NPP", "MLFQ"})
+    public String algorithm;
+
+    @Param({"2"})
+    public int timeQuantum;
+
+    @Param({"UNIFORM", "BURSTY", "HEAVY_TAILED", "MANY_PRIORITIES"})
+    public WorkloadGenerator.Shape shape;
+
+    @Param({"10", "1000", "100000", "10000000"})
+    public int size;
+
+    // 1 runs the uniprocessor scheduler directly; more cores go through the work-stealing engine
+    @Param({"1"})
+    public int cores;
+
+    private ProcessTable workload;
+    private TableScheduler scheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        workload = WorkloadGenerator.generate(shape, size, 42L);
+        scheduler = SchedulerFactory.create(algorithm, timeQuantum);
+        if (cores > 1) {
+            scheduler = new MultiCore(scheduler, cores, MultiCore.LoadBalancing.WORK_STEALING);
+        }
+    }
+
+    @Benchmark
+    public ProcessTable schedule() {
+        ProcessTable table = workload.copy();
+        scheduler.schedule(table);
+        return table;
+    }
+
+    @Benchmark
+    public ProcessTable copyOnly() {
+        return workload.copy();
+    }
+}
@@ -0,0 +1,157 @@
+package main.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import main.ProcessTable;
+import main.SchedulerFactory;
+import main.WorkloadGenerator;
+
+// Lives in main.http so it can reach the package-private codec classes
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class JsonBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int size;
+
+    private byte[] requestBytes;
+    private byte[] binaryRequestBytes;
+    private String requestText;
+    private ProcessTable scheduled;
+    private Map<String, Object> responseTree;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ProcessTable workload = WorkloadGenerator.generate(WorkloadGenerator.Shape.UNIFORM, size, 42L);
+
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        try (JsonWriter json = new JsonWriter(request)) {
+            json.beginObject().name("algorithm").value("FCFS").name("processes").beginArray();
+            for (int i = 0; i < workload.size(); i++) {
+                json.beginObject()
+                        .name("pid").value(workload.pid[i])
+                        .name("arrivalTime").value(workload.arrivalTime[i])
+                        .name("burstTime").value(workload.burstTime[i])
+                        .name("priority").value(workload.priority[i])
+                        .endObject();
+            }
+            json.endArray().endObject();
+        }
+        requestBytes = request.toByteArray();
+        requestText = new String(requestBytes, StandardCharsets.UTF_8);
+
+        ByteBuffer binary = ByteBuffer.allocate(12 + 16 * workload.size()).order(ByteOrder.LITTLE_ENDIAN);
+        binary.put("PROC".getBytes(StandardCharsets.US_ASCII)).putInt(BinaryFormat.VERSION).putInt(workload.size());
+        for (int i = 0; i < workload.size(); i++) {
+            binary.putInt(workload.pid[i])
+                    .putInt(workload.arrivalTime[i])
+                    .putInt(workload.burstTime[i])
+                    .putInt(workload.priority[i]);
+        }
+        binaryRequestBytes = binary.array();
+
+        scheduled = workload.copy();
+        SchedulerFactory.create("FCFS", null).schedule(scheduled);
+        responseTree = toTree(scheduled);
+    }
+
+    @Benchmark
+    public ProcessTable parseStreaming() throws IOException {
+        return ScheduleRequest.read(new ByteArrayInputStream(requestBytes)).processes;
+    }
+
+    @Benchmark
+    public ProcessTable parseBinary() throws IOException {
+        return BinaryFormat.readProcesses(new ByteArrayInputStream(binaryRequestBytes));
+    }
+
+    @Benchmark
+    public Object parseTree() {
+        return Json.parse(requestText);
+    }
+
+    @Benchmark
+    public void writeStreaming(Blackhole blackhole) throws IOException {
+        try (JsonWriter json = new JsonWriter(new BlackholeOutputStream(blackhole))) {
+            json.beginObject();
+            ResultWriter.writeResult(json, scheduled);
+            json.endObject();
+        }
+    }
+
+    @Benchmark
+    public void writeBinary(Blackhole blackhole) throws IOException {
+        BinaryFormat.writeResult(new BlackholeOutputStream(blackhole), scheduled, null, null);
+    }
+
+    @Benchmark
+    public byte[] writeTree() {
+        return Json.stringify(responseTree).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, Object> toTree(ProcessTable processes) {
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < processes.size(); i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("pid", processes.pid[i]);
+            row.put("arrivalTime", processes.arrivalTime[i]);
+            row.put("burstTime", processes.burstTime[i]);
+            row.put("priority", processes.priority[i]);
+            row.put("waitingTime", processes.waitingTime[i]);
+            row.put("turnaroundTime", processes.turnaroundTime[i]);
+            row.put("startTime", processes.startTime[i]);
+            row.put("completionTime", processes.completionTime[i]);
+            rows.add(row);
+        }
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("processes", rows);
+        return response;
+    }
+
+    private static final class BlackholeOutputStream extends OutputStream {
+        private final Blackhole blackhole;
+
+        BlackholeOutputStream(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void write(int b) {
+            blackhole.consume(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            blackhole.consume(b);
+        }
+    }
+}
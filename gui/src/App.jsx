@@ -1,6 +1,6 @@
 import { useState } from 'react'
 import { ProcessInput, AlgorithmSelector, ResultsDisplay } from './components'
-import { runScheduler } from './utils/scheduler'
+import { streamScheduler } from './utils/scheduler'
 import styles from './App.module.css'
 
 function App() {
@@ -8,6 +8,7 @@ function App() {
   const [algorithm, setAlgorithm] = useState('FCFS')
   const [timeQuantum, setTimeQuantum] = useState(2)
   const [results, setResults] = useState(null)
+  const [progress, setProgress] = useState(null)
   const [isLoading, setIsLoading] = useState(false)
   const [error, setError] = useState(null)
 
@@ -15,13 +16,18 @@ function App() {
     if (processes.length === 0) return
     setIsLoading(true)
     setError(null)
+    setResults(null)
+    setProgress(null)
     try {
-      const scheduled = await runScheduler(processes, algorithm, timeQuantum)
+      // Counts and averages stream in while the run goes, so large workloads give feedback right away;
+      // the process table is only rendered once, from the final result
+      const scheduled = await streamScheduler(processes, algorithm, timeQuantum, setProgress)
       setResults(scheduled)
     } catch (err) {
       setError(err?.message ?? 'Failed to run scheduler')
       setResults(null)
     } finally {
+      setProgress(null)
       setIsLoading(false)
     }
   }
@@ -40,10 +46,16 @@ function App() {
 
       <main className={styles.calculator}>
         <div className={styles.display}>
-          {isLoading ? (
-            <div className={styles.placeholder}>Running algorithms…</div>
-          ) : results ? (
+          {results ? (
             <ResultsDisplay results={results} />
+          ) : isLoading ? (
+            <div className={styles.placeholder}>
+              {progress
+                ? `Running… ${progress.completed} of ${progress.total} processes done, ` +
+                  `average waiting ${progress.averageWaitingTime.toFixed(2)}, ` +
+                  `average turnaround ${progress.averageTurnaroundTime.toFixed(2)}`
+                : 'Running algorithms…'}
+            </div>
           ) : error ? (
             <div className={styles.placeholder} role="alert">
               {error}
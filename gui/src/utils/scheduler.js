@@ -3,23 +3,24 @@ export const ALGORITHMS = {
   SRTF: { id: 'SRTF', name: 'SRTF', label: 'Shortest Remaining Time First', needsQuantum: false },
   RR: { id: 'RR', name: 'RR', label: 'Round Robin', needsQuantum: true },
   NPP: { id: 'NPP', name: 'NPP', label: 'Non-Preemptive Priority', needsQuantum: false },
+  MLFQ: { id: 'MLFQ', name: 'MLFQ', label: 'Multi-Level Feedback Queue', needsQuantum: true },
 }
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL ?? 'http://localhost:8080'
 
-export const runScheduler = async (processes, algorithmId, timeQuantum = 2) => {
-  const payload = {
-    algorithm: algorithmId,
-    timeQuantum,
-    processes: processes.map((p, index) => ({
-      pid: p.pid ?? index + 1,
-      arrivalTime: Number(p.arrivalTime),
-      burstTime: Number(p.burstTime),
-      priority: Number.isFinite(p.priority) ? Number(p.priority) : 0,
-    })),
-  }
+const buildPayload = (processes, algorithmId, timeQuantum) => ({
+  algorithm: algorithmId,
+  timeQuantum,
+  processes: processes.map((p, index) => ({
+    pid: p.pid ?? index + 1,
+    arrivalTime: Number(p.arrivalTime),
+    burstTime: Number(p.burstTime),
+    priority: Number.isFinite(p.priority) ? Number(p.priority) : 0,
+  })),
+})
 
-  const response = await fetch(`${API_BASE_URL}/api/schedule`, {
+const post = async (path, payload) => {
+  const response = await fetch(`${API_BASE_URL}${path}`, {
     method: 'POST',
     headers: { 'Content-Type': 'application/json' },
     body: JSON.stringify(payload),
@@ -36,5 +37,89 @@ export const runScheduler = async (processes, algorithmId, timeQuantum = 2) => {
     throw new Error(message)
   }
 
+  return response
+}
+
+export const runScheduler = async (processes, algorithmId, timeQuantum = 2) => {
+  const response = await post('/api/schedule', buildPayload(processes, algorithmId, timeQuantum))
   return response.json()
 }
+
+const nextFrame =
+  typeof requestAnimationFrame === 'function' ? requestAnimationFrame : (callback) => setTimeout(callback, 16)
+
+// Runs the schedule through the event stream endpoint. onProgress receives counts and running averages
+// ({ completed, total, averageWaitingTime, averageTurnaroundTime }) at most once per animation frame; the full
+// process list only comes with the final result the promise resolves with.
+export const streamScheduler = async (processes, algorithmId, timeQuantum = 2, onProgress = () => {}) => {
+  const payload = buildPayload(processes, algorithmId, timeQuantum)
+  const response = await post('/api/schedule/stream', payload)
+  const reader = response.body.getReader()
+  const decoder = new TextDecoder()
+  const total = payload.processes.length
+  const completed = []
+  let totalWaiting = 0
+  let totalTurnaround = 0
+  let buffer = ''
+  let done = null
+  let reportPending = false
+  let settled = false
+
+  const report = () => {
+    if (reportPending) return
+    reportPending = true
+    nextFrame(() => {
+      reportPending = false
+      if (settled) return
+      const count = completed.length
+      onProgress({
+        completed: count,
+        total,
+        averageWaitingTime: count === 0 ? 0 : totalWaiting / count,
+        averageTurnaroundTime: count === 0 ? 0 : totalTurnaround / count,
+      })
+    })
+  }
+
+  const handleEvent = (block) => {
+    let event = 'message'
+    let data = ''
+    for (const line of block.split('\n')) {
+      if (line.startsWith('event:')) event = line.slice(6).trim()
+      else if (line.startsWith('data:')) data += line.slice(5).trim()
+    }
+    if (!data) return
+    const payload = JSON.parse(data)
+    if (event === 'processes') {
+      for (const p of payload) {
+        completed.push(p)
+        totalWaiting += p.waitingTime
+        totalTurnaround += p.turnaroundTime
+      }
+      report()
+    } else if (event === 'done') {
+      done = payload
+    } else if (event === 'error') {
+      throw new Error(payload.error ?? 'Failed to run scheduler')
+    }
+  }
+
+  try {
+    for (;;) {
+      const { value, done: finished } = await reader.read()
+      if (finished) break
+      buffer += decoder.decode(value, { stream: true })
+      let boundary = buffer.indexOf('\n\n')
+      while (boundary >= 0) {
+        handleEvent(buffer.slice(0, boundary))
+        buffer = buffer.slice(boundary + 2)
+        boundary = buffer.indexOf('\n\n')
+      }
+    }
+  } finally {
+    settled = true
+  }
+
+  if (!done) throw new Error('Scheduler stream ended early')
+  return { ...done, processes: completed }
+}
@@ -0,0 +1,11 @@
+package main;
+
+// Thrown out of a scheduler loop by RunBudget once a run has used up its wall-clock budget
+public class BudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,63 @@
+package main;
+
+import java.util.concurrent.CancellationException;
+
+// Lets another thread abandon a run: every report the scheduler makes after cancel() throws CancellationException
+// out of its loop. Schedulers report each slice they hand out, so a run stops within one slice of simulated work.
+public final class CancellableListener implements ExecutionListener {
+    private final ExecutionListener delegate;
+    private volatile boolean cancelled;
+
+    public CancellableListener(ExecutionListener delegate) {
+        this.delegate = delegate;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    private void check() {
+        if (cancelled) {
+            throw new CancellationException("Run cancelled");
+        }
+    }
+
+    @Override
+    public void onRun(int row, int start, int end) {
+        check();
+        delegate.onRun(row, start, end);
+    }
+
+    @Override
+    public void onIdle(int start, int end) {
+        check();
+        delegate.onIdle(start, end);
+    }
+
+    @Override
+    public void onRounds(int[] rows, int first, int count, int start, int slice, long rounds) {
+        check();
+        delegate.onRounds(rows, first, count, start, slice, rounds);
+    }
+
+    @Override
+    public void onCoreRun(int core, int row, int start, int end) {
+        check();
+        delegate.onCoreRun(core, row, start, end);
+    }
+
+    @Override
+    public void onCoreIdle(int core, int start, int end) {
+        check();
+        delegate.onCoreIdle(core, start, end);
+    }
+
+    @Override
+    public boolean isRecording() {
+        return delegate.isRecording();
+    }
+}
@@ -0,0 +1,49 @@
+package main;
+
+import java.util.Arrays;
+
+// Counts how often a core starts running a different process from the one it ran last; idle gaps in
+// between do not count as a switch of their own
+public class ContextSwitches implements ExecutionListener {
+    private int[] last;
+    private long count;
+
+    public ContextSwitches(int cores) {
+        last = new int[Math.max(cores, 1)];
+        Arrays.fill(last, -1);
+    }
+
+    @Override
+    public void onRun(int row, int start, int end) {
+        onCoreRun(0, row, start, end);
+    }
+
+    @Override
+    public void onCoreRun(int core, int row, int start, int end) {
+        if (core >= last.length) {
+            int size = last.length;
+            last = Arrays.copyOf(last, core + 1);
+            Arrays.fill(last, size, last.length, -1);
+        }
+        if (last[core] >= 0 && last[core] != row) {
+            count++;
+        }
+        last[core] = row;
+    }
+
+    // Every turn after the first hands the CPU to the next process in the ring
+    @Override
+    public void onRounds(int[] rows, int first, int count, int start, int slice, long rounds) {
+        if (count == 1 || rounds <= 0) {
+            ExecutionListener.super.onRounds(rows, first, count, start, slice, rounds);
+            return;
+        }
+        onRun(rows[first], start, start + slice);
+        this.count += rounds * count - 1;
+        last[0] = rows[(first + count - 1) % rows.length];
+    }
+
+    public long count() {
+        return count;
+    }
+}
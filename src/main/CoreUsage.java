@@ -0,0 +1,54 @@
+package main;
+
+import java.util.Arrays;
+
+// Busy time per core over the span from the first dispatch to the last completion
+public class CoreUsage implements ExecutionListener {
+    private long[] busy;
+    private long first = Long.MAX_VALUE;
+    private long last = Long.MIN_VALUE;
+
+    public CoreUsage(int cores) {
+        busy = new long[Math.max(cores, 1)];
+    }
+
+    @Override
+    public void onRun(int row, int start, int end) {
+        onCoreRun(0, row, start, end);
+    }
+
+    @Override
+    public void onCoreRun(int core, int row, int start, int end) {
+        if (core >= busy.length) {
+            busy = Arrays.copyOf(busy, core + 1);
+        }
+        busy[core] += end - start;
+        first = Math.min(first, start);
+        last = Math.max(last, end);
+    }
+
+    // Only the totals matter, so a run of identical rounds is one block of busy time
+    @Override
+    public void onRounds(int[] rows, int first, int count, int start, int slice, long rounds) {
+        if (rounds > 0) {
+            onCoreRun(0, rows[first], start, (int) (start + rounds * count * slice));
+        }
+    }
+
+    public int cores() {
+        return busy.length;
+    }
+
+    public long busyTime(int core) {
+        return busy[core];
+    }
+
+    public long makespan() {
+        return last < first ? 0 : last - first;
+    }
+
+    public double utilization(int core) {
+        long span = makespan();
+        return span == 0 ? 0 : (double) busy[core] / span;
+    }
+}
@@ -0,0 +1,86 @@
+package main;
+
+// Receives the CPU activity of a simulation as it happens; rows are indices into the scheduled table
+public interface ExecutionListener {
+    ExecutionListener NONE = new ExecutionListener() {
+        @Override
+        public boolean isRecording() {
+            return false;
+        }
+    };
+
+    default void onRun(int row, int start, int end) {
+    }
+
+    default void onIdle(int start, int end) {
+    }
+
+    // A run of identical Round Robin turns: for each of the given rounds, the count rows of the ring buffer
+    // rows starting at first run slice time units each, in order, from start on
+    default void onRounds(int[] rows, int first, int count, int start, int slice, long rounds) {
+        if (count == 1) {
+            onRun(rows[first], start, (int) (start + rounds * slice));
+            return;
+        }
+        long time = start;
+        for (long round = 0; round < rounds && isRecording(); round++) {
+            for (int i = 0; i < count; i++) {
+                onRun(rows[(first + i) % rows.length], (int) time, (int) (time + slice));
+                time += slice;
+            }
+        }
+    }
+
+    // Multi-core simulations report which core the activity happened on; single-core listeners see it all
+    default void onCoreRun(int core, int row, int start, int end) {
+        onRun(row, start, end);
+    }
+
+    default void onCoreIdle(int core, int start, int end) {
+        onIdle(start, end);
+    }
+
+    // Schedulers may skip reporting entirely when nobody is listening
+    default boolean isRecording() {
+        return true;
+    }
+
+    static ExecutionListener combine(ExecutionListener first, ExecutionListener second) {
+        return new ExecutionListener() {
+            @Override
+            public void onRun(int row, int start, int end) {
+                first.onRun(row, start, end);
+                second.onRun(row, start, end);
+            }
+
+            @Override
+            public void onIdle(int start, int end) {
+                first.onIdle(start, end);
+                second.onIdle(start, end);
+            }
+
+            @Override
+            public void onRounds(int[] rows, int firstRow, int count, int start, int slice, long rounds) {
+                first.onRounds(rows, firstRow, count, start, slice, rounds);
+                second.onRounds(rows, firstRow, count, start, slice, rounds);
+            }
+
+            @Override
+            public void onCoreRun(int core, int row, int start, int end) {
+                first.onCoreRun(core, row, start, end);
+                second.onCoreRun(core, row, start, end);
+            }
+
+            @Override
+            public void onCoreIdle(int core, int start, int end) {
+                first.onCoreIdle(core, start, end);
+                second.onCoreIdle(core, start, end);
+            }
+
+            @Override
+            public boolean isRecording() {
+                return first.isRecording() || second.isRecording();
+            }
+        };
+    }
+}
@@ -1,32 +1,125 @@
 package main;
 
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import main.http.AdmissionControl;
+import main.http.CacheStatsHandler;
+import main.http.CompareHandler;
+import main.http.Compression;
+import main.http.JobHandler;
+import main.http.JobStore;
+import main.http.Metrics;
+import main.http.MetricsHandler;
+import main.http.QuantumSweepHandler;
+import main.http.ReadyHandler;
+import main.http.RequestLimits;
+import main.http.ResultCache;
 import main.http.ScheduleHandler;
+import main.http.ScheduleStreamHandler;
+import main.http.SessionHandler;
+import main.http.SessionStore;
+import main.http.SweepHandler;
+import main.http.Warmup;
 
 public class Main {
 
-    private static final int DEFAULT_PORT = 8080;
-
     public static void main(String[] args) throws IOException {
-        int port = resolvePort(args);
-        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
-        server.createContext("/api/schedule", new ScheduleHandler());
-        server.setExecutor(null);
+        ServerOptions options = ServerOptions.parse(args);
+        Scratch.setMaxRetained(options.scratchElements);
+        AdmissionControl admission = new AdmissionControl(createExecutor(options), options.maxInFlight);
+        ResultCache cache = new ResultCache(options.cacheEntries, options.cacheBytes);
+        ForkJoinPool simulations = new ForkJoinPool(options.threads);
+        Metrics metrics = new Metrics();
+        SessionStore sessions = new SessionStore(options.maxSessions, options.sessionTtlSeconds);
+        Compression compression = new Compression(options.compressionThreshold);
+        RequestLimits limits = new RequestLimits(options.maxProcesses, options.maxSimulatedTime, options.runBudgetMillis);
+        ReadyHandler ready = new ReadyHandler();
+        int jobWaiters = options.jobWaiters >= 0 ? options.jobWaiters : Math.max(1, options.threads / 4);
+        JobStore jobs = new JobStore(options.jobWorkers, options.maxJobs, options.jobTtlSeconds, options.jobResultBytes);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(options.port), 0);
+        register(server, "/api/schedule", new ScheduleHandler(cache, metrics, limits), admission, metrics, compression);
+        register(server, "/api/schedule/stream", new ScheduleStreamHandler(metrics, limits), admission, metrics, compression);
+        register(server, "/api/schedule/compare", new CompareHandler(simulations, limits), admission, metrics, compression);
+        register(server, "/api/schedule/quanta", new QuantumSweepHandler(simulations, limits), admission, metrics, compression);
+        register(server, "/api/sweep", new SweepHandler(simulations, limits), admission, metrics, compression);
+        register(server, "/api/sessions", new SessionHandler(sessions, limits), admission, metrics, compression);
+        register(server, "/api/jobs", new JobHandler(jobs, limits, jobWaiters), admission, metrics, compression);
+        register(server, "/api/cache", new CacheStatsHandler(cache), admission, metrics, compression);
+        registerMonitoring(server, "/api/metrics", new MetricsHandler(metrics, cache), metrics, compression);
+        registerMonitoring(server, "/api/ready", ready, metrics, compression);
+        server.setExecutor(admission);
         server.start();
-        System.out.println("Scheduler API running on port " + port);
+        System.out.println("Scheduler API running on port " + options.port);
+        if (options.warmupSeconds > 0) {
+            startWarmup(options.warmupSeconds, ready);
+        } else {
+            ready.markReady();
+        }
     }
 
-    private static int resolvePort(String[] args) {
-        if (args == null || args.length == 0) {
-            return DEFAULT_PORT;
-        }
-        try {
-            return Integer.parseInt(args[0]);
-        } catch (NumberFormatException ex) {
-            System.err.println("Invalid port provided. Falling back to " + DEFAULT_PORT);
-            return DEFAULT_PORT;
+    // The server already answers while warming up, so health checks and /api/ready work; traffic is held back
+    // by the load balancer until /api/ready turns 200
+    private static void startWarmup(int seconds, ReadyHandler ready) {
+        Thread thread = new Thread(() -> {
+            try {
+                Warmup warmup = Warmup.run(seconds * 1000L);
+                System.out.println("Warm-up finished after " + warmup.rounds + " rounds in " + warmup.elapsedMillis
+                        + " ms" + (warmup.compileMillis < 0 ? "" : " (" + warmup.compileMillis + " ms compiling)"));
+            } catch (RuntimeException ex) {
+                System.err.println("Warm-up failed; serving without it");
+                ex.printStackTrace();
+            } finally {
+                ready.markReady();
+            }
+        }, "scheduler-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void register(HttpServer server, String path, HttpHandler handler,
+            AdmissionControl admission, Metrics metrics, Compression compression) {
+        HttpContext context = server.createContext(path, handler);
+        context.getFilters().add(metrics.filter());
+        context.getFilters().add(admission.filter());
+        context.getFilters().add(compression.filter());
+    }
+
+    // Without the admission filter: exchanges over the in-flight limit are still answered, on the overflow thread,
+    // so scrapes and readiness probes keep working while the server is saturated
+    private static void registerMonitoring(HttpServer server, String path, HttpHandler handler,
+            Metrics metrics, Compression compression) {
+        HttpContext context = server.createContext(path, handler);
+        context.getFilters().add(metrics.filter());
+        context.getFilters().add(compression.filter());
+    }
+
+    private static ExecutorService createExecutor(ServerOptions options) {
+        if (options.executorMode == ServerOptions.ExecutorMode.VIRTUAL) {
+            try {
+                // Looked up reflectively so the sources keep compiling on JDKs without virtual threads
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                System.err.println("Virtual threads are not available on this JDK. Falling back to a fixed pool");
+            }
         }
+        return Executors.newFixedThreadPool(options.threads, workerThreads());
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, "scheduler-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
     }
 }
@@ -0,0 +1,85 @@
+package main;
+
+import java.util.Arrays;
+
+// Fixed-memory log-linear histogram of non-negative ints: exact below 128, then 64 buckets per power of two,
+// so a percentile is within 1/64 of the true value whatever the number or range of samples
+public final class PercentileHistogram {
+    private static final int SUB_BUCKETS = 64;
+    private static final int LINEAR = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = (Integer.SIZE - 8) * SUB_BUCKETS + LINEAR;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private int min = Integer.MAX_VALUE;
+    private int max;
+
+    public void record(int value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts[index(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        min = Integer.MAX_VALUE;
+        max = 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public double mean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    public int min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public int max() {
+        return max;
+    }
+
+    // Nearest rank, reported as the highest value of its bucket but never beyond the recorded range
+    public int percentile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, highest(i)));
+            }
+        }
+        return max;
+    }
+
+    private static int index(int value) {
+        if (value < LINEAR) {
+            return value;
+        }
+        int shift = (31 - Integer.numberOfLeadingZeros(value)) - 6;
+        return shift * SUB_BUCKETS + (value >>> shift);
+    }
+
+    private static int highest(int index) {
+        if (index < LINEAR) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long mantissa = index - shift * SUB_BUCKETS;
+        return (int) Math.min(Integer.MAX_VALUE, ((mantissa + 1) << shift) - 1);
+    }
+}
@@ -0,0 +1,154 @@
+package main;
+
+import java.util.Arrays;
+import java.util.List;
+
+public final class ProcessTable {
+
+    public int[] pid;
+    public int[] arrivalTime;
+    public int[] burstTime;
+    public int[] priority;
+
+    public int[] waitingTime;
+    public int[] turnaroundTime;
+    public int[] remainingTime;
+    public int[] startTime;
+    public int[] completionTime;
+
+    private int size;
+
+    public ProcessTable(int capacity) {
+        int initial = Math.max(capacity, 1);
+        pid = new int[initial];
+        arrivalTime = new int[initial];
+        burstTime = new int[initial];
+        priority = new int[initial];
+        waitingTime = new int[initial];
+        turnaroundTime = new int[initial];
+        remainingTime = new int[initial];
+        startTime = new int[initial];
+        completionTime = new int[initial];
+    }
+
+    public static ProcessTable of(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes) {
+            int row = table.add(p.pid, p.arrivalTime, p.burstTime, p.priority);
+            table.waitingTime[row] = p.waitingTime;
+            table.turnaroundTime[row] = p.turnaroundTime;
+            table.remainingTime[row] = p.remainingTime;
+            table.startTime[row] = p.startTime;
+            table.completionTime[row] = p.completionTime;
+        }
+        return table;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int add(int pid, int arrivalTime, int burstTime, int priority) {
+        if (size == this.pid.length) {
+            grow(size * 2);
+        }
+        int row = size++;
+        this.pid[row] = pid;
+        this.arrivalTime[row] = arrivalTime;
+        this.burstTime[row] = burstTime;
+        this.priority[row] = priority;
+        this.waitingTime[row] = 0;
+        this.turnaroundTime[row] = 0;
+        this.remainingTime[row] = burstTime;
+        this.startTime[row] = -1;
+        this.completionTime[row] = 0;
+        return row;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public ProcessTable copy() {
+        ProcessTable copy = new ProcessTable(size);
+        copyInto(copy);
+        return copy;
+    }
+
+    // Replaces the rows of target with fresh copies of these inputs, reusing its arrays once they are big enough
+    public void copyInto(ProcessTable target) {
+        target.clear();
+        for (int i = 0; i < size; i++) {
+            target.add(pid[i], arrivalTime[i], burstTime[i], priority[i]);
+        }
+    }
+
+    public Process toProcess(int row) {
+        Process p = new Process(pid[row], arrivalTime[row], burstTime[row], priority[row]);
+        p.waitingTime = waitingTime[row];
+        p.turnaroundTime = turnaroundTime[row];
+        p.remainingTime = remainingTime[row];
+        p.startTime = startTime[row];
+        p.completionTime = completionTime[row];
+        return p;
+    }
+
+    public void copyTo(List<Process> processes) {
+        for (int i = 0; i < size; i++) {
+            Process p = processes.get(i);
+            p.waitingTime = waitingTime[i];
+            p.turnaroundTime = turnaroundTime[i];
+            p.remainingTime = remainingTime[i];
+            p.startTime = startTime[i];
+            p.completionTime = completionTime[i];
+        }
+    }
+
+    // Stable sort by arrival time, matching List.sort with an arrivalTime comparator
+    public void sortByArrival() {
+        boolean sorted = true;
+        for (int i = 1; i < size && sorted; i++) {
+            sorted = arrivalTime[i - 1] <= arrivalTime[i];
+        }
+        if (sorted) {
+            return;
+        }
+
+        Scratch buffers = Scratch.get();
+        long[] keys = buffers.longs(Scratch.SORT_KEYS, size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = ((long) arrivalTime[i] << 32) | i;
+        }
+        Arrays.sort(keys, 0, size);
+
+        int[] scratch = buffers.ints(Scratch.SORT_COLUMN, size);
+        permute(pid, keys, scratch);
+        permute(arrivalTime, keys, scratch);
+        permute(burstTime, keys, scratch);
+        permute(priority, keys, scratch);
+        permute(waitingTime, keys, scratch);
+        permute(turnaroundTime, keys, scratch);
+        permute(remainingTime, keys, scratch);
+        permute(startTime, keys, scratch);
+        permute(completionTime, keys, scratch);
+    }
+
+    private void permute(int[] column, long[] keys, int[] scratch) {
+        for (int i = 0; i < size; i++) {
+            scratch[i] = column[(int) keys[i]];
+        }
+        System.arraycopy(scratch, 0, column, 0, size);
+    }
+
+    private void grow(int capacity) {
+        pid = Arrays.copyOf(pid, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        burstTime = Arrays.copyOf(burstTime, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        waitingTime = Arrays.copyOf(waitingTime, capacity);
+        turnaroundTime = Arrays.copyOf(turnaroundTime, capacity);
+        remainingTime = Arrays.copyOf(remainingTime, capacity);
+        startTime = Arrays.copyOf(startTime, capacity);
+        completionTime = Arrays.copyOf(completionTime, capacity);
+    }
+}
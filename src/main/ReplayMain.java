@@ -0,0 +1,205 @@
+package main;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Formatter;
+import java.util.Locale;
+
+import main.algorithms.MultiCore;
+
+// Replays a recorded trace offline and streams the per-process results to a CSV file, e.g.
+//   java -cp out main.ReplayMain --input=trace.csv --output=results.csv --algorithm=RR --quantum=4
+// The input is CSV or the binary "PROC" layout (see TraceReader); the summary goes to stdout and, with
+// --summary=FILE, to that file as well.
+public final class ReplayMain {
+
+    private static final String HEADER = "pid,arrivalTime,burstTime,priority,waitingTime,turnaroundTime,startTime,completionTime\n";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private ReplayMain() {
+    }
+
+    public static void main(String[] args) {
+        Path input = null;
+        Path output = null;
+        Path summary = null;
+        String algorithm = "FCFS";
+        Integer quantum = null;
+        Integer cores = null;
+        MultiCore.LoadBalancing balancing = MultiCore.LoadBalancing.WORK_STEALING;
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but found " + arg);
+                }
+                String value = arg.substring(eq + 1);
+                switch (arg.substring(2, eq)) {
+                    case "input":
+                        input = Paths.get(value);
+                        break;
+                    case "output":
+                        output = Paths.get(value);
+                        break;
+                    case "summary":
+                        summary = Paths.get(value);
+                        break;
+                    case "algorithm":
+                        algorithm = value;
+                        break;
+                    case "quantum":
+                        quantum = parseInt(value);
+                        break;
+                    case "cores":
+                        cores = parseInt(value);
+                        break;
+                    case "load-balancing":
+                        balancing = MultiCore.LoadBalancing.parse(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+            if (input == null || output == null) {
+                throw new IllegalArgumentException("Both --input and --output are required");
+            }
+
+            TableScheduler scheduler = SchedulerFactory.create(algorithm, quantum);
+            if (cores != null) {
+                scheduler = new MultiCore(scheduler, cores, balancing);
+            }
+
+            long start = System.nanoTime();
+            ProcessTable table = TraceReader.read(input);
+            long loaded = System.nanoTime();
+            CoreUsage usage = new CoreUsage(cores == null ? 1 : cores);
+            ContextSwitches switches = new ContextSwitches(cores == null ? 1 : cores);
+            scheduler.schedule(table, ExecutionListener.combine(usage, switches));
+            long scheduled = System.nanoTime();
+            writeResults(output, table);
+            long written = System.nanoTime();
+
+            String label = algorithm.toUpperCase(Locale.ROOT)
+                    + (SchedulerFactory.usesTimeQuantum(algorithm)
+                            ? " q=" + (quantum == null ? SchedulerFactory.DEFAULT_TIME_QUANTUM : quantum) : "")
+                    + (cores == null ? "" : " on " + cores + " cores");
+            String text = summarize(label, table, usage, switches)
+                    + String.format(Locale.US, "load %.1f ms, schedule %.1f ms, write %.1f ms%n",
+                            (loaded - start) / 1e6, (scheduled - loaded) / 1e6, (written - scheduled) / 1e6);
+            System.out.print(text);
+            if (summary != null) {
+                Files.write(summary, text.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+        } catch (IOException ex) {
+            System.err.println("I/O error: " + ex);
+            System.exit(1);
+        }
+    }
+
+    // Rows go out in the scheduled (arrival) order; digits are formatted straight into the byte buffer
+    private static void writeResults(Path output, ProcessTable table) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), BUFFER_SIZE)) {
+            out.write(HEADER.getBytes(StandardCharsets.US_ASCII));
+            byte[] line = new byte[8 * 12];
+            for (int i = 0; i < table.size(); i++) {
+                int at = 0;
+                at = appendInt(line, at, table.pid[i], ',');
+                at = appendInt(line, at, table.arrivalTime[i], ',');
+                at = appendInt(line, at, table.burstTime[i], ',');
+                at = appendInt(line, at, table.priority[i], ',');
+                at = appendInt(line, at, table.waitingTime[i], ',');
+                at = appendInt(line, at, table.turnaroundTime[i], ',');
+                at = appendInt(line, at, table.startTime[i], ',');
+                at = appendInt(line, at, table.completionTime[i], '\n');
+                out.write(line, 0, at);
+            }
+        }
+    }
+
+    private static int appendInt(byte[] buffer, int at, int value, char separator) {
+        long v = value;
+        if (v < 0) {
+            buffer[at++] = '-';
+            v = -v;
+        }
+        int end = at + digits(v);
+        for (int i = end - 1; i >= at; i--) {
+            buffer[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        buffer[end] = (byte) separator;
+        return end + 1;
+    }
+
+    private static int digits(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static String summarize(String label, ProcessTable table, CoreUsage usage, ContextSwitches switches) {
+        int n = table.size();
+        int[] waiting = Arrays.copyOf(table.waitingTime, n);
+        int[] turnaround = Arrays.copyOf(table.turnaroundTime, n);
+        long response = 0;
+        for (int i = 0; i < n; i++) {
+            response += table.startTime[i] - table.arrivalTime[i];
+        }
+        long busy = 0;
+        for (int core = 0; core < usage.cores(); core++) {
+            busy += usage.busyTime(core);
+        }
+        long makespan = usage.makespan();
+
+        StringBuilder text = new StringBuilder();
+        try (Formatter out = new Formatter(text, Locale.US)) {
+            out.format("%s: %d processes, makespan %d, utilization %.2f%%, throughput %.4f per unit, %d context switches%n",
+                    label, n, makespan, makespan == 0 ? 0 : 100.0 * busy / ((double) makespan * usage.cores()),
+                    makespan == 0 ? 0 : (double) n / makespan, switches.count());
+            out.format("%-10s %12s %12s %12s %12s %12s%n", "metric", "mean", "p50", "p90", "p99", "max");
+            printRow(out, "waiting", waiting);
+            printRow(out, "turnaround", turnaround);
+            out.format("%-10s %12.2f%n", "response", n == 0 ? 0 : (double) response / n);
+        }
+        return text.toString();
+    }
+
+    // Percentiles use the nearest rank, as in Sweep
+    private static void printRow(Formatter out, String metric, int[] values) {
+        Arrays.sort(values);
+        long total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        int n = values.length;
+        out.format("%-10s %12.2f %12d %12d %12d %12d%n", metric, n == 0 ? 0 : (double) total / n,
+                rank(values, 0.50), rank(values, 0.90), rank(values, 0.99), n == 0 ? 0 : values[n - 1]);
+    }
+
+    private static int rank(int[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Expected a number but found " + value);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package main;
+
+// Bounds the wall-clock time of a run: once the deadline has passed, the next report the scheduler makes throws
+// BudgetExceededException out of its loop. Every scheduler loop reports each slice or idle gap it hands out, so
+// these reports are where the budget is checked; the clock is read only every CHECK_INTERVAL reports.
+public final class RunBudget implements ExecutionListener {
+    private static final int CHECK_INTERVAL = 64;
+
+    private final ExecutionListener delegate;
+    private final long deadline;
+    private final long budgetMillis;
+    private int untilCheck = CHECK_INTERVAL;
+
+    // Runs that share a deadline, like the runs of one comparison, each need their own instance
+    public RunBudget(ExecutionListener delegate, long deadlineNanos, long budgetMillis) {
+        this.delegate = delegate;
+        this.deadline = deadlineNanos;
+        this.budgetMillis = budgetMillis;
+    }
+
+    private void check() {
+        if (--untilCheck > 0) {
+            return;
+        }
+        untilCheck = CHECK_INTERVAL;
+        if (System.nanoTime() - deadline > 0) {
+            throw new BudgetExceededException("Simulation exceeded its budget of " + budgetMillis + " ms");
+        }
+    }
+
+    @Override
+    public void onRun(int row, int start, int end) {
+        check();
+        delegate.onRun(row, start, end);
+    }
+
+    @Override
+    public void onIdle(int start, int end) {
+        check();
+        delegate.onIdle(start, end);
+    }
+
+    @Override
+    public void onRounds(int[] rows, int first, int count, int start, int slice, long rounds) {
+        check();
+        delegate.onRounds(rows, first, count, start, slice, rounds);
+    }
+
+    @Override
+    public void onCoreRun(int core, int row, int start, int end) {
+        check();
+        delegate.onCoreRun(core, row, start, end);
+    }
+
+    @Override
+    public void onCoreIdle(int core, int start, int end) {
+        check();
+        delegate.onCoreIdle(core, start, end);
+    }
+
+    @Override
+    public boolean isRecording() {
+        return delegate.isRecording();
+    }
+}
@@ -0,0 +1,66 @@
+package main;
+
+// Aggregate metrics of one run in constant space: listen to the run for CPU time and context switches, then
+// record() takes the per-process times in one pass over the scheduled table
+public class ScheduleSummary implements ExecutionListener {
+    public final PercentileHistogram waitingTime = new PercentileHistogram();
+    public final PercentileHistogram turnaroundTime = new PercentileHistogram();
+    // Time from arrival to the first dispatch
+    public final PercentileHistogram responseTime = new PercentileHistogram();
+    public final CoreUsage usage;
+    public final ContextSwitches contextSwitches;
+
+    public ScheduleSummary(int cores) {
+        usage = new CoreUsage(cores);
+        contextSwitches = new ContextSwitches(cores);
+    }
+
+    @Override
+    public void onRun(int row, int start, int end) {
+        onCoreRun(0, row, start, end);
+    }
+
+    @Override
+    public void onCoreRun(int core, int row, int start, int end) {
+        usage.onCoreRun(core, row, start, end);
+        contextSwitches.onCoreRun(core, row, start, end);
+    }
+
+    // Usage adds up turn by turn, but the switch counter can take the whole run of rounds at once
+    @Override
+    public void onRounds(int[] rows, int first, int count, int start, int slice, long rounds) {
+        usage.onRounds(rows, first, count, start, slice, rounds);
+        contextSwitches.onRounds(rows, first, count, start, slice, rounds);
+    }
+
+    public void record(ProcessTable table) {
+        for (int i = 0; i < table.size(); i++) {
+            waitingTime.record(table.waitingTime[i]);
+            turnaroundTime.record(table.turnaroundTime[i]);
+            responseTime.record(table.startTime[i] - table.arrivalTime[i]);
+        }
+    }
+
+    public long processCount() {
+        return waitingTime.count();
+    }
+
+    // Completed processes per unit of simulated time
+    public double throughput() {
+        long makespan = usage.makespan();
+        return makespan == 0 ? 0 : (double) processCount() / makespan;
+    }
+
+    // Busy share of all cores over the makespan
+    public double cpuUtilization() {
+        long makespan = usage.makespan();
+        if (makespan == 0) {
+            return 0;
+        }
+        long busy = 0;
+        for (int core = 0; core < usage.cores(); core++) {
+            busy += usage.busyTime(core);
+        }
+        return (double) busy / ((double) makespan * usage.cores());
+    }
+}
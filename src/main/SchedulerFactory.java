@@ -1,34 +1,113 @@
 package main;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import main.algorithms.FCFS;
+import main.algorithms.MLFQ;
 import main.algorithms.NPP;
 import main.algorithms.RR;
 import main.algorithms.SRTF;
 
 public final class SchedulerFactory {
 
+    public static final int DEFAULT_TIME_QUANTUM = 2;
+    public static final int DEFAULT_MLFQ_LEVELS = 3;
+
+    private static final List<String> ALGORITHMS = Collections.unmodifiableList(Arrays.asList("FCFS", "SRTF", "RR", "NPP", "MLFQ"));
+
+    // Schedulers keep no per-run state (scratch space is per thread, see Scratch), so one instance serves every
+    // request. Quantum-based ones are cached for the common small quanta; the races filling the caches are benign.
+    private static final int CACHED_QUANTA = 64;
+    private static final TableScheduler FCFS_SCHEDULER = new FCFS();
+    private static final TableScheduler SRTF_SCHEDULER = new SRTF();
+    private static final TableScheduler NPP_SCHEDULER = new NPP();
+    private static final TableScheduler[] RR_SCHEDULERS = new TableScheduler[CACHED_QUANTA + 1];
+    private static final TableScheduler[] MLFQ_SCHEDULERS = new TableScheduler[CACHED_QUANTA + 1];
+
     private SchedulerFactory() {
     }
 
-    public static Scheduler create(String algorithmId, Integer timeQuantum) {
+    public static TableScheduler create(String algorithmId, Integer timeQuantum) {
         if (algorithmId == null || algorithmId.isEmpty()) {
             throw new IllegalArgumentException("Algorithm identifier is required");
         }
         switch (algorithmId.toUpperCase()) {
             case "FCFS":
-                return new FCFS();
+                return FCFS_SCHEDULER;
             case "SRTF":
-                return new SRTF();
+                return SRTF_SCHEDULER;
             case "RR":
-                int quantum = timeQuantum == null ? 2 : timeQuantum;
+                int quantum = timeQuantum == null ? DEFAULT_TIME_QUANTUM : timeQuantum;
                 if (quantum <= 0) {
                     throw new IllegalArgumentException("Time quantum must be greater than zero for Round Robin");
                 }
-                return new RR(quantum);
+                if (quantum > CACHED_QUANTA) {
+                    return new RR(quantum);
+                }
+                TableScheduler rr = RR_SCHEDULERS[quantum];
+                if (rr == null) {
+                    rr = new RR(quantum);
+                    RR_SCHEDULERS[quantum] = rr;
+                }
+                return rr;
             case "NPP":
-                return new NPP();
+                return NPP_SCHEDULER;
+            case "MLFQ":
+                return mlfq(timeQuantum, null, null, null);
             default:
                 throw new IllegalArgumentException("Unsupported algorithm: " + algorithmId);
         }
     }
+
+    // Without explicit level quanta, level k gets the base time quantum doubled k times
+    public static TableScheduler mlfq(Integer timeQuantum, Integer levels, List<Integer> levelQuanta, Integer boostInterval) {
+        boolean defaults = levels == null && levelQuanta == null && boostInterval == null;
+        int base = timeQuantum == null ? DEFAULT_TIME_QUANTUM : timeQuantum;
+        if (defaults && base > 0 && base <= CACHED_QUANTA && MLFQ_SCHEDULERS[base] != null) {
+            return MLFQ_SCHEDULERS[base];
+        }
+        int[] quanta;
+        if (levelQuanta != null) {
+            if (levels != null && levels != levelQuanta.size()) {
+                throw new IllegalArgumentException("MLFQ levels must match the number of level quanta");
+            }
+            quanta = new int[levelQuanta.size()];
+            for (int i = 0; i < quanta.length; i++) {
+                Integer quantum = levelQuanta.get(i);
+                if (quantum == null) {
+                    throw new IllegalArgumentException("MLFQ level quanta must not be null");
+                }
+                quanta[i] = quantum;
+            }
+        } else {
+            int count = levels == null ? DEFAULT_MLFQ_LEVELS : levels;
+            if (count <= 0 || count > MLFQ.MAX_LEVELS) {
+                throw new IllegalArgumentException("MLFQ needs between 1 and " + MLFQ.MAX_LEVELS + " levels");
+            }
+            if (base <= 0) {
+                throw new IllegalArgumentException("Time quantum must be greater than zero for MLFQ");
+            }
+            quanta = new int[count];
+            long quantum = base;
+            for (int i = 0; i < count; i++) {
+                quanta[i] = (int) quantum;
+                quantum = Math.min(quantum * 2, Integer.MAX_VALUE);
+            }
+        }
+        TableScheduler mlfq = new MLFQ(quanta, boostInterval == null ? 0 : boostInterval);
+        if (defaults && base <= CACHED_QUANTA) {
+            MLFQ_SCHEDULERS[base] = mlfq;
+        }
+        return mlfq;
+    }
+
+    public static List<String> algorithms() {
+        return ALGORITHMS;
+    }
+
+    public static boolean usesTimeQuantum(String algorithmId) {
+        return "RR".equalsIgnoreCase(algorithmId) || "MLFQ".equalsIgnoreCase(algorithmId);
+    }
 }
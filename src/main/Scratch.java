@@ -0,0 +1,104 @@
+package main;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// Per-thread working arrays for batch scheduling. Every user owns a slot, so a scheduler sorting its table or the
+// multi-core engine building a policy's queues never hands out an array that is still in use. Arrays grow to the
+// largest workload the thread has seen and are reused from then on; contents are left over from the last use,
+// so callers must write before they read. Arrays larger than maxRetained elements are handed out but not kept, so
+// a thread holds at most 48 bytes per retained element across all slots. Virtual threads are many and short-lived,
+// so they get fresh arrays on every call instead.
+public final class Scratch {
+    public static final int DEFAULT_MAX_RETAINED = 1 << 16;
+
+    // int[] slots
+    public static final int SORT_COLUMN = 0;
+    public static final int RUN_QUEUE = 1;
+    public static final int TIE_ORDER = 2;
+    public static final int LEVEL_LINKS = 3;
+    public static final int LEVEL_HEADS = 4;
+    public static final int LEVEL_TAILS = 5;
+    // long[] slots
+    public static final int SORT_KEYS = 0;
+    public static final int READY_HEAP = 1;
+    public static final int TIE_KEYS = 2;
+
+    private static final int INT_SLOTS = 6;
+    private static final int LONG_SLOTS = 3;
+    private static final ThreadLocal<Scratch> LOCAL = ThreadLocal.withInitial(Scratch::new);
+    // Thread.isVirtual, looked up reflectively so the sources keep compiling on JDKs without virtual threads
+    private static final MethodHandle IS_VIRTUAL = isVirtualHandle();
+
+    private static volatile int maxRetained = DEFAULT_MAX_RETAINED;
+
+    private final int[][] ints = new int[INT_SLOTS][];
+    private final long[][] longs = new long[LONG_SLOTS][];
+
+    private Scratch() {
+    }
+
+    public static Scratch get() {
+        return onVirtualThread() ? new Scratch() : LOCAL.get();
+    }
+
+    // Applies to arrays allocated from now on; 0 keeps nothing
+    public static void setMaxRetained(int elements) {
+        maxRetained = Math.max(0, elements);
+    }
+
+    // At least size elements, never empty
+    public int[] ints(int slot, int size) {
+        int[] array = ints[slot];
+        if (array == null || array.length < size) {
+            int limit = maxRetained;
+            array = new int[grow(array == null ? 0 : array.length, size, limit)];
+            if (array.length <= limit) {
+                ints[slot] = array;
+            }
+        }
+        return array;
+    }
+
+    public long[] longs(int slot, int size) {
+        long[] array = longs[slot];
+        if (array == null || array.length < size) {
+            int limit = maxRetained;
+            array = new long[grow(array == null ? 0 : array.length, size, limit)];
+            if (array.length <= limit) {
+                longs[slot] = array;
+            }
+        }
+        return array;
+    }
+
+    // Doubling keeps slowly growing workloads from reallocating on every request
+    private static int grow(int current, int size, int limit) {
+        int minimum = Math.max(size, 16);
+        if (minimum > limit) {
+            return minimum;
+        }
+        return Math.max(minimum, (int) Math.min(limit, current * 2L));
+    }
+
+    private static boolean onVirtualThread() {
+        if (IS_VIRTUAL == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+        } catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    private static MethodHandle isVirtualHandle() {
+        try {
+            return MethodHandles.publicLookup()
+                    .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+        } catch (ReflectiveOperationException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package main;
+
+public final class ServerOptions {
+
+    public enum ExecutorMode {
+        FIXED, VIRTUAL
+    }
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_WARMUP_SECONDS = 30;
+
+    public int port = DEFAULT_PORT;
+    public ExecutorMode executorMode = ExecutorMode.FIXED;
+    public int threads = Runtime.getRuntime().availableProcessors();
+    public int maxInFlight = Math.max(16, Runtime.getRuntime().availableProcessors() * 4);
+    public int cacheEntries = 256;
+    public long cacheBytes = 64L * 1024 * 1024;
+    public int maxSessions = 1024;
+    public int sessionTtlSeconds = 30 * 60;
+    // Responses up to this many bytes are sent uncompressed even when the client accepts gzip
+    public int compressionThreshold = 1024;
+    public int jobWorkers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    public int maxJobs = 256;
+    public int jobTtlSeconds = 10 * 60;
+    public long jobResultBytes = 256L * 1024 * 1024;
+    // Long-polls hold a request worker while they wait, so only this many may wait at once; the rest are answered
+    // right away. Negative means a quarter of the request workers, at least one
+    public int jobWaiters = -1;
+    // Per-request limits; zero turns one off. Simulated time is the sum of all bursts in the request
+    public int maxProcesses = 2_000_000;
+    public long maxSimulatedTime = 1_000_000_000_000L;
+    public long runBudgetMillis = 10_000;
+    // Largest scheduler working array, in elements, a request thread keeps between requests; see Scratch
+    public int scratchElements = Scratch.DEFAULT_MAX_RETAINED;
+    // Zero skips warm-up; /api/ready then reports ready as soon as the server listens
+    public int warmupSeconds = 0;
+
+    public static ServerOptions parse(String[] args) {
+        ServerOptions options = new ServerOptions();
+        if (args == null) {
+            return options;
+        }
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                options.port = parseInt(arg, DEFAULT_PORT, "Invalid port provided. Falling back to " + DEFAULT_PORT);
+                continue;
+            }
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg.substring(2) : arg.substring(2, eq);
+            String value = eq < 0 ? "" : arg.substring(eq + 1);
+            switch (name) {
+                case "executor":
+                    options.executorMode = parseExecutorMode(value, options.executorMode);
+                    break;
+                case "threads":
+                    options.threads = parsePositive(value, options.threads, name);
+                    break;
+                case "max-in-flight":
+                    options.maxInFlight = parsePositive(value, options.maxInFlight, name);
+                    break;
+                case "cache-entries":
+                    options.cacheEntries = (int) parseNonNegative(value, options.cacheEntries, name);
+                    break;
+                case "cache-bytes":
+                    options.cacheBytes = parseNonNegative(value, options.cacheBytes, name);
+                    break;
+                case "max-sessions":
+                    options.maxSessions = parsePositive(value, options.maxSessions, name);
+                    break;
+                case "session-ttl":
+                    options.sessionTtlSeconds = parsePositive(value, options.sessionTtlSeconds, name);
+                    break;
+                case "compression-threshold":
+                    options.compressionThreshold = (int) Math.min(Integer.MAX_VALUE,
+                            parseNonNegative(value, options.compressionThreshold, name));
+                    break;
+                case "job-workers":
+                    options.jobWorkers = parsePositive(value, options.jobWorkers, name);
+                    break;
+                case "max-jobs":
+                    options.maxJobs = parsePositive(value, options.maxJobs, name);
+                    break;
+                case "job-ttl":
+                    options.jobTtlSeconds = parsePositive(value, options.jobTtlSeconds, name);
+                    break;
+                case "job-waiters":
+                    options.jobWaiters = (int) Math.min(Integer.MAX_VALUE, parseNonNegative(value, 0, name));
+                    break;
+                case "job-result-bytes":
+                    options.jobResultBytes = parseNonNegative(value, options.jobResultBytes, name);
+                    break;
+                case "max-processes":
+                    options.maxProcesses = (int) Math.min(Integer.MAX_VALUE,
+                            parseNonNegative(value, options.maxProcesses, name));
+                    break;
+                case "max-simulated-time":
+                    options.maxSimulatedTime = parseNonNegative(value, options.maxSimulatedTime, name);
+                    break;
+                case "run-budget":
+                    options.runBudgetMillis = parseNonNegative(value, options.runBudgetMillis, name);
+                    break;
+                case "scratch-elements":
+                    options.scratchElements = (int) Math.min(Integer.MAX_VALUE,
+                            parseNonNegative(value, options.scratchElements, name));
+                    break;
+                case "warmup":
+                    options.warmupSeconds = value.isEmpty() ? DEFAULT_WARMUP_SECONDS
+                            : (int) Math.min(Integer.MAX_VALUE, parseNonNegative(value, DEFAULT_WARMUP_SECONDS, name));
+                    break;
+                default:
+                    System.err.println("Ignoring unknown option " + arg);
+            }
+        }
+        return options;
+    }
+
+    private static ExecutorMode parseExecutorMode(String value, ExecutorMode fallback) {
+        try {
+            return ExecutorMode.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            System.err.println("Invalid executor '" + value + "'. Falling back to " + fallback.name().toLowerCase());
+            return fallback;
+        }
+    }
+
+    private static int parsePositive(String value, int fallback, String name) {
+        int parsed = parseInt(value, fallback, "Invalid value for --" + name + ". Falling back to " + fallback);
+        if (parsed <= 0) {
+            System.err.println("--" + name + " must be greater than zero. Falling back to " + fallback);
+            return fallback;
+        }
+        return parsed;
+    }
+
+    private static long parseNonNegative(String value, long fallback, String name) {
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed >= 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ex) {
+            // reported below
+        }
+        System.err.println("Invalid value for --" + name + ". Falling back to " + fallback);
+        return fallback;
+    }
+
+    private static int parseInt(String value, int fallback, String warning) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            System.err.println(warning);
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package main;
+
+// A scheduler run that keeps its state between calls, so new processes and clock advances only cost the work
+// they cause. Rows refer to the table the simulation was created over.
+public interface Simulation {
+    int NOT_STARTED = Integer.MIN_VALUE;
+
+    // The row must already be in the table and arrive after time()
+    void add(int row);
+
+    // Processes every event up to and including the given time
+    void advanceTo(int time);
+
+    // Runs every known process to completion and moves the clock to the last completion
+    void runUntilIdle();
+
+    // Bounds the wall-clock time of the following advances: once System.nanoTime() passes the deadline, an advance
+    // stops before its next dispatch, moves the clock there and throws BudgetExceededException. Advancing again
+    // continues exactly where it stopped.
+    void setDeadline(long deadlineNanos);
+
+    void clearDeadline();
+
+    int time();
+
+    // Row on the CPU at time(), or -1
+    int running();
+
+    int completed();
+
+    long totalWaitingTime();
+
+    long totalTurnaroundTime();
+}
@@ -0,0 +1,174 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+import main.WorkloadGenerator.Distribution;
+
+// Monte-Carlo sweep: many random workloads drawn from the same distributions, each scheduled by every
+// scheduler, summarised per scheduler as the spread of the per-run average waiting and turnaround times
+public final class Sweep {
+
+    public static final int MAX_RUNS = 100_000;
+    public static final int MAX_PROCESSES = 1_000_000;
+    // Bounds the processes generated over the whole sweep
+    public static final long MAX_TOTAL_PROCESSES = 100_000_000L;
+    // Fixed so the random streams, and with them the results, do not depend on the pool size
+    private static final int RUNS_PER_TASK = 32;
+    // Two-sided 95% quantile of the standard normal distribution
+    private static final double Z_95 = 1.959963984540054;
+
+    public int runs = 1000;
+    public int processCount = 50;
+    public long seed = new SplittableRandom().nextLong();
+    public Distribution interarrival = Distribution.exponential(5);
+    public Distribution burst = Distribution.uniform(1, 20);
+    public Distribution priority = Distribution.uniform(0, 4);
+
+    public static final class Stats {
+        public final double mean;
+        public final double stddev;
+        // 95% confidence interval of the mean, from the normal approximation
+        public final double ciLow;
+        public final double ciHigh;
+        public final double min;
+        public final double p50;
+        public final double p90;
+        public final double p99;
+        public final double max;
+
+        // Sorts the samples in place
+        static Stats of(double[] samples) {
+            Arrays.sort(samples);
+            int n = samples.length;
+            double sum = 0;
+            for (double sample : samples) {
+                sum += sample;
+            }
+            double mean = sum / n;
+            double squares = 0;
+            for (double sample : samples) {
+                squares += (sample - mean) * (sample - mean);
+            }
+            double stddev = n > 1 ? Math.sqrt(squares / (n - 1)) : 0;
+            double margin = Z_95 * stddev / Math.sqrt(n);
+            return new Stats(mean, stddev, mean - margin, mean + margin, samples[0],
+                    percentile(samples, 0.5), percentile(samples, 0.9), percentile(samples, 0.99), samples[n - 1]);
+        }
+
+        private Stats(double mean, double stddev, double ciLow, double ciHigh, double min,
+                double p50, double p90, double p99, double max) {
+            this.mean = mean;
+            this.stddev = stddev;
+            this.ciLow = ciLow;
+            this.ciHigh = ciHigh;
+            this.min = min;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        // Nearest rank, so every reported percentile is one of the samples
+        private static double percentile(double[] sorted, double quantile) {
+            int rank = (int) Math.max(1, Math.ceil(quantile * sorted.length));
+            return sorted[rank - 1];
+        }
+    }
+
+    public static final class Summary {
+        public final Stats waitingTime;
+        public final Stats turnaroundTime;
+
+        Summary(Stats waitingTime, Stats turnaroundTime) {
+            this.waitingTime = waitingTime;
+            this.turnaroundTime = turnaroundTime;
+        }
+    }
+
+    public void validate() {
+        if (runs <= 0 || runs > MAX_RUNS) {
+            throw new IllegalArgumentException("Runs must be between 1 and " + MAX_RUNS);
+        }
+        if (processCount <= 0 || processCount > MAX_PROCESSES) {
+            throw new IllegalArgumentException("Process count must be between 1 and " + MAX_PROCESSES);
+        }
+        if ((long) runs * processCount > MAX_TOTAL_PROCESSES) {
+            throw new IllegalArgumentException("Runs times process count must not exceed " + MAX_TOTAL_PROCESSES);
+        }
+    }
+
+    // One summary per scheduler, in order. Every run gets its own workload, which all schedulers share.
+    public List<Summary> run(List<TableScheduler> schedulers, ForkJoinPool pool) {
+        return run(schedulers, pool, () -> ExecutionListener.NONE);
+    }
+
+    // Each task schedules through its own listener from listeners, e.g. one bounding its wall-clock time. When a
+    // task fails the tasks that have not started are cancelled before the failure is rethrown.
+    public List<Summary> run(List<TableScheduler> schedulers, ForkJoinPool pool,
+            Supplier<ExecutionListener> listeners) {
+        validate();
+        if (schedulers.isEmpty()) {
+            throw new IllegalArgumentException("At least one algorithm is required");
+        }
+        TableScheduler[] resolved = schedulers.toArray(new TableScheduler[0]);
+        double[][] waiting = new double[resolved.length][runs];
+        double[][] turnaround = new double[resolved.length][runs];
+
+        SplittableRandom root = new SplittableRandom(seed);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (int first = 0; first < runs; first += RUNS_PER_TASK) {
+            int from = first;
+            int to = Math.min(runs, first + RUNS_PER_TASK);
+            SplittableRandom random = root.split();
+            tasks.add(pool.submit(() -> simulate(resolved, from, to, random, waiting, turnaround, listeners.get())));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException ex) {
+                for (ForkJoinTask<?> other : tasks) {
+                    other.cancel(false);
+                }
+                // The pool may rethrow a copy wrapping the original, whose message is the one worth reporting
+                if (ex.getCause() instanceof RuntimeException && ex.getCause().getClass() == ex.getClass()) {
+                    throw (RuntimeException) ex.getCause();
+                }
+                throw ex;
+            }
+        }
+
+        List<Summary> summaries = new ArrayList<>(resolved.length);
+        for (int s = 0; s < resolved.length; s++) {
+            summaries.add(new Summary(Stats.of(waiting[s]), Stats.of(turnaround[s])));
+        }
+        return summaries;
+    }
+
+    // The two tables are reused for every run of the task; results go straight into the shared sample arrays
+    private void simulate(TableScheduler[] schedulers, int from, int to, SplittableRandom random,
+            double[][] waiting, double[][] turnaround, ExecutionListener listener) {
+        ProcessTable workload = new ProcessTable(processCount);
+        ProcessTable table = new ProcessTable(processCount);
+        for (int run = from; run < to; run++) {
+            WorkloadGenerator.generate(workload, processCount, interarrival, burst, priority, random);
+            for (int s = 0; s < schedulers.length; s++) {
+                workload.copyInto(table);
+                schedulers[s].schedule(table, listener);
+                long totalWaiting = 0;
+                long totalTurnaround = 0;
+                for (int i = 0; i < processCount; i++) {
+                    totalWaiting += table.waitingTime[i];
+                    totalTurnaround += table.turnaroundTime[i];
+                }
+                waiting[s][run] = (double) totalWaiting / processCount;
+                turnaround[s][run] = (double) totalTurnaround / processCount;
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+import main.WorkloadGenerator.Distribution;
+import main.algorithms.MultiCore;
+
+// Command-line front end for Sweep, e.g.
+//   java -cp out main.SweepMain --algorithms=FCFS,RR --quanta=2,4 --runs=10000 --burst=pareto:1:1.5
+public final class SweepMain {
+
+    private SweepMain() {
+    }
+
+    public static void main(String[] args) {
+        Sweep sweep = new Sweep();
+        List<String> algorithms = SchedulerFactory.algorithms();
+        List<Integer> quanta = Arrays.asList(SchedulerFactory.DEFAULT_TIME_QUANTUM);
+        Integer cores = null;
+        MultiCore.LoadBalancing balancing = MultiCore.LoadBalancing.WORK_STEALING;
+        int threads = Runtime.getRuntime().availableProcessors();
+        try {
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (!arg.startsWith("--") || eq < 0) {
+                    throw new IllegalArgumentException("Expected --name=value but found " + arg);
+                }
+                String value = arg.substring(eq + 1);
+                switch (arg.substring(2, eq)) {
+                    case "algorithms":
+                        algorithms = Arrays.asList(value.split(","));
+                        break;
+                    case "quanta":
+                        quanta = new ArrayList<>();
+                        for (String quantum : value.split(",")) {
+                            quanta.add(parseInt(quantum));
+                        }
+                        break;
+                    case "runs":
+                        sweep.runs = parseInt(value);
+                        break;
+                    case "processes":
+                        sweep.processCount = parseInt(value);
+                        break;
+                    case "seed":
+                        sweep.seed = Long.parseLong(value);
+                        break;
+                    case "interarrival":
+                        sweep.interarrival = Distribution.parse(value);
+                        break;
+                    case "burst":
+                        sweep.burst = Distribution.parse(value);
+                        break;
+                    case "priority":
+                        sweep.priority = Distribution.parse(value);
+                        break;
+                    case "cores":
+                        cores = parseInt(value);
+                        break;
+                    case "load-balancing":
+                        balancing = MultiCore.LoadBalancing.parse(value);
+                        break;
+                    case "threads":
+                        threads = parseInt(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                }
+            }
+
+            List<String> labels = new ArrayList<>();
+            List<TableScheduler> schedulers = new ArrayList<>();
+            for (String algorithm : algorithms) {
+                for (Integer quantum : SchedulerFactory.usesTimeQuantum(algorithm) ? quanta : Arrays.asList((Integer) null)) {
+                    TableScheduler scheduler = SchedulerFactory.create(algorithm, quantum);
+                    schedulers.add(cores == null ? scheduler : new MultiCore(scheduler, cores, balancing));
+                    labels.add(algorithm.toUpperCase(Locale.ROOT) + (quantum == null ? "" : " q=" + quantum));
+                }
+            }
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Threads must be greater than zero");
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            long start = System.nanoTime();
+            List<Sweep.Summary> summaries = sweep.run(schedulers, pool);
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+            print(sweep, labels, summaries, elapsed);
+        } catch (IllegalArgumentException ex) {
+            System.err.println(ex.getMessage());
+            System.exit(2);
+        }
+    }
+
+    private static void print(Sweep sweep, List<String> labels, List<Sweep.Summary> summaries, long elapsedNanos) {
+        System.out.printf(Locale.US, "%d runs of %d processes, seed %d, interarrival %s, burst %s, priority %s (%.1f ms)%n",
+                sweep.runs, sweep.processCount, sweep.seed, sweep.interarrival, sweep.burst, sweep.priority,
+                elapsedNanos / 1_000_000.0);
+        String format = "%-12s %-10s %10s %23s %10s %10s %10s %10s%n";
+        System.out.printf(Locale.US, format, "algorithm", "metric", "mean", "95% CI", "p50", "p90", "p99", "max");
+        for (int i = 0; i < summaries.size(); i++) {
+            printRow(format, labels.get(i), "waiting", summaries.get(i).waitingTime);
+            printRow(format, labels.get(i), "turnaround", summaries.get(i).turnaroundTime);
+        }
+    }
+
+    private static void printRow(String format, String label, String metric, Sweep.Stats stats) {
+        System.out.printf(Locale.US, format, label, metric, number(stats.mean),
+                "[" + number(stats.ciLow) + ", " + number(stats.ciHigh) + "]",
+                number(stats.p50), number(stats.p90), number(stats.p99), number(stats.max));
+    }
+
+    private static String number(double value) {
+        return String.format(Locale.US, "%.2f", value);
+    }
+
+    private static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Expected a number but found " + value);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package main;
+
+import java.util.Comparator;
+import java.util.List;
+
+public interface TableScheduler extends Scheduler {
+    void schedule(ProcessTable table, ExecutionListener listener);
+
+    default void schedule(ProcessTable table) {
+        schedule(table, ExecutionListener.NONE);
+    }
+
+    // Incremental counterpart of schedule(table) over a table that starts empty and only grows
+    default Simulation simulate(ProcessTable table) {
+        throw new IllegalArgumentException(getClass().getSimpleName() + " does not support incremental sessions");
+    }
+
+    @Override
+    default void schedule(List<Process> processes) {
+        processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
+        ProcessTable table = ProcessTable.of(processes);
+        schedule(table);
+        table.copyTo(processes);
+    }
+}
@@ -0,0 +1,110 @@
+package main;
+
+import java.util.Arrays;
+
+// Gantt chart of a run as contiguous segments; adjacent runs of the same row are merged as they arrive,
+// so the size tracks context switches rather than simulated time
+public class Timeline implements ExecutionListener {
+    public static final int IDLE = -1;
+
+    private final int limit;
+    private int[] rows = new int[16];
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int[] cores = new int[16];
+    // Most recent segment of each core; on several cores segments interleave, so merging is per core
+    private int[] lastOfCore = {-1};
+    private int size;
+    private boolean truncated;
+
+    public Timeline(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Timeline limit must not be negative");
+        }
+        this.limit = limit;
+    }
+
+    @Override
+    public void onRun(int row, int start, int end) {
+        append(0, row, start, end);
+    }
+
+    @Override
+    public void onIdle(int start, int end) {
+        append(0, IDLE, start, end);
+    }
+
+    @Override
+    public void onCoreRun(int core, int row, int start, int end) {
+        append(core, row, start, end);
+    }
+
+    @Override
+    public void onCoreIdle(int core, int start, int end) {
+        append(core, IDLE, start, end);
+    }
+
+    @Override
+    public boolean isRecording() {
+        return !truncated;
+    }
+
+    private void append(int core, int row, int start, int end) {
+        if (start >= end || truncated) {
+            return;
+        }
+        if (core >= lastOfCore.length) {
+            int previous = lastOfCore.length;
+            lastOfCore = Arrays.copyOf(lastOfCore, core + 1);
+            Arrays.fill(lastOfCore, previous, core + 1, -1);
+        }
+        int last = lastOfCore[core];
+        if (last >= 0 && rows[last] == row && ends[last] == start) {
+            ends[last] = end;
+            return;
+        }
+        if (size == limit) {
+            truncated = true;
+            return;
+        }
+        if (size == rows.length) {
+            int capacity = (int) Math.min((long) size * 2, Integer.MAX_VALUE - 8);
+            rows = Arrays.copyOf(rows, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            cores = Arrays.copyOf(cores, capacity);
+        }
+        rows[size] = row;
+        starts[size] = start;
+        ends[size] = end;
+        cores[size] = core;
+        lastOfCore[core] = size;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Table row of a segment, or IDLE
+    public int row(int segment) {
+        return rows[segment];
+    }
+
+    public int start(int segment) {
+        return starts[segment];
+    }
+
+    public int end(int segment) {
+        return ends[segment];
+    }
+
+    public int core(int segment) {
+        return cores[segment];
+    }
+
+    // True once a segment had to be dropped because the limit was reached
+    public boolean isTruncated() {
+        return truncated;
+    }
+}
@@ -0,0 +1,163 @@
+package main;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Loads recorded traces straight from a memory-mapped file into a ProcessTable, one window at a time, so the
+// file contents never have to fit in the heap. Two layouts are understood:
+//   binary: the request layout of the binary API format ("PROC", int32 version 1, int32 count, then count
+//           little-endian records of int32 pid, arrivalTime, burstTime, priority)
+//   CSV:    pid,arrivalTime,burstTime[,priority] per line; a header line, blank lines and # comments are skipped
+public final class TraceReader {
+
+    private static final int BINARY_MAGIC = 'P' | 'R' << 8 | 'O' << 16 | 'C' << 24;
+    private static final int BINARY_HEADER = 12;
+    private static final int BINARY_RECORD = 16;
+    // Records after the 12-byte header do not line up with window boundaries; a record never straddles two
+    // mappings because the reader remaps from the record's own offset whenever fewer than 16 bytes remain
+    private static final long WINDOW = 1L << 28;
+    private static final int MAX_FIELDS = 4;
+
+    private final FileChannel channel;
+    private final long size;
+    private MappedByteBuffer window;
+    private long windowStart;
+
+    private TraceReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+    }
+
+    public static ProcessTable read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            TraceReader reader = new TraceReader(channel);
+            reader.map(0);
+            if (reader.size >= BINARY_HEADER && reader.window.order(ByteOrder.LITTLE_ENDIAN).getInt(0) == BINARY_MAGIC) {
+                return reader.readBinary();
+            }
+            return reader.readCsv();
+        }
+    }
+
+    private ProcessTable readBinary() throws IOException {
+        int version = window.getInt(4);
+        if (version != 1) {
+            throw new IllegalArgumentException("Unsupported binary trace version " + version);
+        }
+        int count = window.getInt(8);
+        if (count < 0 || BINARY_HEADER + (long) count * BINARY_RECORD != size) {
+            throw new IllegalArgumentException("Binary trace declares " + count + " processes but holds "
+                    + (size - BINARY_HEADER) + " bytes of records");
+        }
+        ProcessTable table = new ProcessTable(count);
+        window.position(BINARY_HEADER);
+        for (int i = 0; i < count; i++) {
+            if (window.remaining() < BINARY_RECORD) {
+                map(windowStart + window.position());
+            }
+            int pid = window.getInt();
+            int arrival = window.getInt();
+            int burst = window.getInt();
+            int priority = window.getInt();
+            if (burst <= 0) {
+                throw new IllegalArgumentException("Process " + (i + 1) + " has a burst time that is not positive");
+            }
+            table.add(pid, arrival, burst, priority);
+        }
+        return table;
+    }
+
+    private ProcessTable readCsv() throws IOException {
+        ProcessTable table = new ProcessTable((int) Math.min(1 << 20, size / 16 + 1));
+        long[] fields = new long[MAX_FIELDS];
+        long line = 0;
+        int b = next();
+        while (b >= 0) {
+            line++;
+            // Blank lines, comments and a leading header are skipped as whole lines
+            if (b == '\n' || b == '\r' || b == '#' || (table.size() == 0 && isHeaderStart(b))) {
+                while (b >= 0 && b != '\n') {
+                    b = next();
+                }
+                b = next();
+                continue;
+            }
+            int count = 0;
+            while (true) {
+                while (b == ' ' || b == '\t') {
+                    b = next();
+                }
+                if (count == MAX_FIELDS) {
+                    throw new IllegalArgumentException("Line " + line + ": expected at most " + MAX_FIELDS + " fields");
+                }
+                boolean negative = b == '-';
+                if (negative) {
+                    b = next();
+                }
+                long value = 0;
+                int digits = 0;
+                while (b >= '0' && b <= '9') {
+                    value = value * 10 + (b - '0');
+                    if (value > Integer.MAX_VALUE + 1L) {
+                        throw new IllegalArgumentException("Line " + line + ": number out of range");
+                    }
+                    digits++;
+                    b = next();
+                }
+                if (digits == 0) {
+                    throw new IllegalArgumentException("Line " + line + ": expected a number");
+                }
+                value = negative ? -value : value;
+                if (value > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Line " + line + ": number out of range");
+                }
+                fields[count++] = value;
+                while (b == ' ' || b == '\t' || b == '\r') {
+                    b = next();
+                }
+                if (b == ',') {
+                    b = next();
+                    continue;
+                }
+                if (b == '\n' || b < 0) {
+                    break;
+                }
+                throw new IllegalArgumentException("Line " + line + ": unexpected character '" + (char) b + "'");
+            }
+            if (count < 3) {
+                throw new IllegalArgumentException("Line " + line + ": expected pid,arrivalTime,burstTime[,priority]");
+            }
+            if (fields[2] <= 0) {
+                throw new IllegalArgumentException("Line " + line + ": burst time must be greater than zero");
+            }
+            table.add((int) fields[0], (int) fields[1], (int) fields[2], count > 3 ? (int) fields[3] : 0);
+            b = next();
+        }
+        return table;
+    }
+
+    private static boolean isHeaderStart(int b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || b == '"';
+    }
+
+    private int next() throws IOException {
+        if (!window.hasRemaining()) {
+            long end = windowStart + window.limit();
+            if (end >= size) {
+                return -1;
+            }
+            map(end);
+        }
+        return window.get() & 0xff;
+    }
+
+    private void map(long start) throws IOException {
+        windowStart = start;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(WINDOW, size - start));
+        window.order(ByteOrder.LITTLE_ENDIAN);
+    }
+}
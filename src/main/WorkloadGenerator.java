@@ -0,0 +1,218 @@
+package main;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Synthetic process tables for benchmarks and warm-up runs
+public final class WorkloadGenerator {
+
+    public enum Shape {
+        UNIFORM, BURSTY, HEAVY_TAILED, MANY_PRIORITIES
+    }
+
+    private static final int MEAN_BURST = 10;
+    private static final int MAX_BURST = 1_000_000;
+    private static final int BURST_GROUP = 64;
+
+    // A random integer quantity: inter-arrival gaps, bursts or priorities
+    public static final class Distribution {
+
+        public enum Kind {
+            CONSTANT, UNIFORM, EXPONENTIAL, PARETO
+        }
+
+        public final Kind kind;
+        // Value, minimum, mean or scale, depending on the kind
+        private final double first;
+        // Maximum for UNIFORM, shape for PARETO
+        private final double second;
+
+        private Distribution(Kind kind, double first, double second) {
+            this.kind = kind;
+            this.first = first;
+            this.second = second;
+        }
+
+        public static Distribution constant(int value) {
+            return new Distribution(Kind.CONSTANT, value, 0);
+        }
+
+        public static Distribution uniform(int min, int max) {
+            if (min > max) {
+                throw new IllegalArgumentException("Uniform distribution needs min <= max");
+            }
+            return new Distribution(Kind.UNIFORM, min, max);
+        }
+
+        public static Distribution exponential(double mean) {
+            if (!(mean > 0) || Double.isInfinite(mean)) {
+                throw new IllegalArgumentException("Exponential distribution needs a positive mean");
+            }
+            return new Distribution(Kind.EXPONENTIAL, mean, 0);
+        }
+
+        public static Distribution pareto(double scale, double shape) {
+            if (!(scale > 0) || !(shape > 0) || Double.isInfinite(scale) || Double.isInfinite(shape)) {
+                throw new IllegalArgumentException("Pareto distribution needs a positive scale and shape");
+            }
+            return new Distribution(Kind.PARETO, scale, shape);
+        }
+
+        // Command-line form: constant:3, uniform:1:20, exponential:5 or pareto:1:1.5
+        public static Distribution parse(String spec) {
+            String[] parts = spec.trim().split(":");
+            try {
+                switch (parts[0].toUpperCase(Locale.ROOT)) {
+                    case "CONSTANT":
+                        if (parts.length == 2) {
+                            return constant(Integer.parseInt(parts[1]));
+                        }
+                        break;
+                    case "UNIFORM":
+                        if (parts.length == 3) {
+                            return uniform(Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+                        }
+                        break;
+                    case "EXPONENTIAL":
+                        if (parts.length == 2) {
+                            return exponential(Double.parseDouble(parts[1]));
+                        }
+                        break;
+                    case "PARETO":
+                        if (parts.length == 3) {
+                            return pareto(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]));
+                        }
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unsupported distribution: " + spec);
+                }
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Invalid distribution parameters: " + spec);
+            }
+            throw new IllegalArgumentException("Wrong number of distribution parameters: " + spec);
+        }
+
+        // Expected value of a sample; infinite for a Pareto distribution with shape <= 1
+        public double mean() {
+            switch (kind) {
+                case CONSTANT:
+                case EXPONENTIAL:
+                    return first;
+                case UNIFORM:
+                    return (first + second) / 2;
+                case PARETO:
+                default:
+                    return second > 1 ? first * second / (second - 1) : Double.POSITIVE_INFINITY;
+            }
+        }
+
+        // Expected burst length once generate() has kept it between 1 and MAX_BURST
+        public double meanBurst() {
+            return Math.max(1, Math.min(MAX_BURST, mean()));
+        }
+
+        long sample(SplittableRandom random) {
+            switch (kind) {
+                case CONSTANT:
+                    return (long) first;
+                case UNIFORM:
+                    return random.nextLong((long) first, (long) second + 1);
+                case EXPONENTIAL:
+                    return Math.round(-first * Math.log(1.0 - random.nextDouble()));
+                case PARETO:
+                default:
+                    return Math.round(first * Math.pow(1.0 - random.nextDouble(), -1.0 / second));
+            }
+        }
+
+        @Override
+        public String toString() {
+            String name = kind.name().toLowerCase(Locale.ROOT);
+            switch (kind) {
+                case CONSTANT:
+                case EXPONENTIAL:
+                    return name + ":" + format(first);
+                default:
+                    return name + ":" + format(first) + ":" + format(second);
+            }
+        }
+
+        private static String format(double value) {
+            return value == Math.rint(value) ? String.valueOf((long) value) : String.valueOf(value);
+        }
+    }
+
+    private WorkloadGenerator() {
+    }
+
+    public static ProcessTable generate(Shape shape, int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        ProcessTable table = new ProcessTable(size);
+        // Arrivals spread over about half the total work, so the ready queue keeps growing
+        int horizon = (int) Math.min(Integer.MAX_VALUE / 4, Math.max(1L, (long) size * MEAN_BURST / 2));
+        int groupArrival = 0;
+        for (int i = 0; i < size; i++) {
+            int arrival;
+            int burst;
+            int priority;
+            switch (shape) {
+                case BURSTY:
+                    if (i % BURST_GROUP == 0) {
+                        groupArrival = random.nextInt(horizon);
+                    }
+                    arrival = groupArrival + random.nextInt(4);
+                    burst = 1 + random.nextInt(2 * MEAN_BURST);
+                    priority = random.nextInt(5);
+                    break;
+                case HEAVY_TAILED:
+                    arrival = random.nextInt(horizon);
+                    burst = paretoBurst(random);
+                    priority = random.nextInt(5);
+                    break;
+                case MANY_PRIORITIES:
+                    arrival = random.nextInt(horizon);
+                    burst = 1 + random.nextInt(2 * MEAN_BURST);
+                    priority = random.nextInt(10_000);
+                    break;
+                case UNIFORM:
+                default:
+                    arrival = random.nextInt(horizon);
+                    burst = 1 + random.nextInt(2 * MEAN_BURST);
+                    priority = random.nextInt(5);
+            }
+            table.add(i + 1, arrival, burst, priority);
+        }
+        return table;
+    }
+
+    // Replaces the rows of table with size random processes. Arrivals accumulate the inter-arrival gaps, so the
+    // table comes out sorted by arrival; bursts are kept between 1 and MAX_BURST.
+    public static void generate(ProcessTable table, int size, Distribution interarrival, Distribution burst,
+            Distribution priority, SplittableRandom random) {
+        table.clear();
+        long arrival = 0;
+        long end = 0;
+        for (int i = 0; i < size; i++) {
+            arrival += clamp(interarrival.sample(random), 0, Integer.MAX_VALUE);
+            int length = (int) clamp(burst.sample(random), 1, MAX_BURST);
+            int rank = (int) clamp(priority.sample(random), Integer.MIN_VALUE, Integer.MAX_VALUE);
+            end = Math.max(end, arrival) + length;
+            if (end > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Generated workload does not fit in the simulated time range; "
+                        + "use fewer processes or shorter gaps and bursts");
+            }
+            table.add(i + 1, (int) arrival, length, rank);
+        }
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    // Pareto with shape 1.5: most bursts are short, a few are orders of magnitude longer
+    private static int paretoBurst(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double burst = Math.pow(u, -1.0 / 1.5);
+        return (int) Math.min(MAX_BURST, Math.ceil(burst));
+    }
+}
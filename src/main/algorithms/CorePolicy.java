@@ -0,0 +1,19 @@
+package main.algorithms;
+
+import main.ProcessTable;
+
+// Implemented by the schedulers that MultiCore can run with one run queue per core
+interface CorePolicy {
+
+    // Called with the table already sorted by arrival
+    CoreQueue[] newQueues(ProcessTable table, int cores);
+
+    // Clock value the uniprocessor scheduler starts from; arrivals before it wait until then
+    int startTime();
+
+    default void markStart(ProcessTable table, int row, int start, int end) {
+        if (table.startTime[row] < 0) {
+            table.startTime[row] = start;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package main.algorithms;
+
+// Run queue of one simulated core in MultiCore
+abstract class CoreQueue {
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    // A process that has just arrived on this core
+    abstract void add(int row);
+
+    // A process that ran and still has work left; preempted when an arrival cut its slice short
+    abstract void requeue(int row, boolean preempted);
+
+    // Next process to run at the given time, or -1 when empty
+    abstract int poll(int time);
+
+    abstract int size();
+
+    // Longest stretch the polled process may run before the queue wants the CPU back
+    int slice(int row) {
+        return UNLIMITED;
+    }
+
+    // Whether a process alone on the core would just get slice after slice, so it may run them back to back
+    boolean slicesRepeat() {
+        return false;
+    }
+
+    // Whether an arrival on this core interrupts the running process
+    boolean preemptedByArrival(int row) {
+        return false;
+    }
+}
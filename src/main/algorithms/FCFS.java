@@ -1,27 +1,52 @@
 package main.algorithms;
 
-import java.util.Comparator;
-import java.util.List;
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.Simulation;
+import main.TableScheduler;
 
-import main.Process;
-import main.Scheduler;
+public class FCFS implements TableScheduler, CorePolicy {
+    public void schedule(ProcessTable table, ExecutionListener listener) {
+        table.sortByArrival();
 
-public class FCFS implements Scheduler {
-    public void schedule(List<Process> processes) {
-        processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
-        
+        int[] arrivalTime = table.arrivalTime;
+        int[] burstTime = table.burstTime;
+        int[] startTime = table.startTime;
         int time = 0;
-        for (Process p : processes) {
-            if (time < p.arrivalTime) {
-                time = p.arrivalTime;
+        for (int i = 0; i < table.size(); i++) {
+            if (time < arrivalTime[i]) {
+                if (i > 0) {
+                    listener.onIdle(time, arrivalTime[i]);
+                }
+                time = arrivalTime[i];
             }
-            if (p.startTime < 0) {
-                p.startTime = time;
+            if (startTime[i] < 0) {
+                startTime[i] = time;
             }
-            p.waitingTime = time - p.arrivalTime;
-            time += p.burstTime;
-            p.completionTime = time;
-            p.turnaroundTime = p.waitingTime + p.burstTime;
+            table.waitingTime[i] = time - arrivalTime[i];
+            listener.onRun(i, time, time + burstTime[i]);
+            time += burstTime[i];
+            table.completionTime[i] = time;
+            table.turnaroundTime[i] = table.waitingTime[i] + burstTime[i];
         }
     }
+
+    @Override
+    public Simulation simulate(ProcessTable table) {
+        return new NonPreemptiveSimulation(table, false);
+    }
+
+    @Override
+    public CoreQueue[] newQueues(ProcessTable table, int cores) {
+        CoreQueue[] queues = new CoreQueue[cores];
+        for (int i = 0; i < cores; i++) {
+            queues[i] = new FifoCoreQueue(CoreQueue.UNLIMITED);
+        }
+        return queues;
+    }
+
+    @Override
+    public int startTime() {
+        return 0;
+    }
 }
@@ -0,0 +1,57 @@
+package main.algorithms;
+
+// FIFO run queue for FCFS (no slice limit) and Round Robin (slices of one quantum)
+final class FifoCoreQueue extends CoreQueue {
+    private final int slice;
+    private int[] queue = new int[16];
+    private int head;
+    private int size;
+
+    FifoCoreQueue(int slice) {
+        this.slice = slice;
+    }
+
+    @Override
+    void add(int row) {
+        if (size == queue.length) {
+            int[] grown = new int[size * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = queue[(head + i) % queue.length];
+            }
+            queue = grown;
+            head = 0;
+        }
+        queue[(head + size++) % queue.length] = row;
+    }
+
+    @Override
+    void requeue(int row, boolean preempted) {
+        add(row);
+    }
+
+    @Override
+    int poll(int time) {
+        if (size == 0) {
+            return -1;
+        }
+        int row = queue[head];
+        head = (head + 1) % queue.length;
+        size--;
+        return row;
+    }
+
+    @Override
+    int size() {
+        return size;
+    }
+
+    @Override
+    int slice(int row) {
+        return slice;
+    }
+
+    @Override
+    boolean slicesRepeat() {
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package main.algorithms;
+
+// Run queue ordered by a per-process key, smallest first
+abstract class HeapCoreQueue extends CoreQueue {
+    private final LongHeap heap = new LongHeap(16);
+
+    abstract long key(int row);
+
+    abstract int row(long key);
+
+    @Override
+    void add(int row) {
+        heap.push(key(row));
+    }
+
+    @Override
+    void requeue(int row, boolean preempted) {
+        heap.push(key(row));
+    }
+
+    @Override
+    int poll(int time) {
+        return heap.isEmpty() ? -1 : row(heap.pop());
+    }
+
+    @Override
+    int size() {
+        return heap.size();
+    }
+}
@@ -0,0 +1,144 @@
+package main.algorithms;
+
+import main.BudgetExceededException;
+import main.ProcessTable;
+import main.Simulation;
+
+// Shared bookkeeping for the incremental schedulers. Processes wait in an arrival heap until the engine's clock
+// reaches them; since new processes must arrive after the session clock, they enter the ready structures in the
+// same (arrival, row) order the batch schedulers get from sortByArrival, and the results match a batch run.
+abstract class IncrementalSimulation implements Simulation {
+    // Dispatches between reads of the clock while a deadline is set
+    private static final int CHECK_INTERVAL = 64;
+
+    final ProcessTable table;
+    private final LongHeap arrivals = new LongHeap(16);
+
+    // Engine time: how far the running process has been accounted for; never ahead of the clock once started
+    int time;
+    int running = -1;
+
+    private int clock = NOT_STARTED;
+    private int lastCompletion = NOT_STARTED;
+    private int completed;
+    private long totalWaitingTime;
+    private long totalTurnaroundTime;
+    private boolean bounded;
+    private long deadline;
+    private int untilCheck = CHECK_INTERVAL;
+
+    IncrementalSimulation(ProcessTable table, int initialTime) {
+        this.table = table;
+        this.time = initialTime;
+    }
+
+    // Moves arrivals up to the given time into the engine's ready structure, in arrival order
+    abstract void admit(int upTo);
+
+    // Processes every event up to and including the given time
+    abstract void run(int until);
+
+    @Override
+    public void add(int row) {
+        int arrival = table.arrivalTime[row];
+        if (clock != NOT_STARTED && arrival <= clock) {
+            throw new IllegalArgumentException("Process " + table.pid[row] + " arrives at " + arrival
+                    + " but the session clock is already at " + clock);
+        }
+        arrivals.push(((long) arrival << 32) | row);
+    }
+
+    @Override
+    public void advanceTo(int target) {
+        if (clock != NOT_STARTED && target < clock) {
+            throw new IllegalArgumentException("Cannot move the session clock back from " + clock + " to " + target);
+        }
+        run(target);
+        clock = target;
+    }
+
+    @Override
+    public void runUntilIdle() {
+        run(Integer.MAX_VALUE);
+        clock = Math.max(clock, lastCompletion);
+    }
+
+    @Override
+    public void setDeadline(long deadlineNanos) {
+        bounded = true;
+        deadline = deadlineNanos;
+    }
+
+    @Override
+    public void clearDeadline() {
+        bounded = false;
+    }
+
+    @Override
+    public int time() {
+        return clock;
+    }
+
+    @Override
+    public int running() {
+        return running;
+    }
+
+    @Override
+    public int completed() {
+        return completed;
+    }
+
+    @Override
+    public long totalWaitingTime() {
+        return totalWaitingTime;
+    }
+
+    @Override
+    public long totalTurnaroundTime() {
+        return totalTurnaroundTime;
+    }
+
+    // Called by run() with nothing on the CPU and every arrival up to the engine time admitted, so the events up to
+    // that time are all processed and the clock can stop there
+    void checkDeadline(int until) {
+        if (!bounded || --untilCheck > 0) {
+            return;
+        }
+        untilCheck = CHECK_INTERVAL;
+        if (System.nanoTime() - deadline > 0 && time <= until) {
+            clock = Math.max(clock, time);
+            throw new BudgetExceededException("Advance ran out of its wall-clock budget; the session clock stopped at "
+                    + clock + ", advance again to continue");
+        }
+    }
+
+    boolean hasArrivals() {
+        return !arrivals.isEmpty();
+    }
+
+    int nextArrival() {
+        return (int) (arrivals.peek() >> 32);
+    }
+
+    int popArrival() {
+        return (int) arrivals.pop();
+    }
+
+    void complete(int row, int end) {
+        table.remainingTime[row] = 0;
+        table.completionTime[row] = end;
+        table.turnaroundTime[row] = end - table.arrivalTime[row];
+        table.waitingTime[row] = table.turnaroundTime[row] - table.burstTime[row];
+        completed++;
+        totalWaitingTime += table.waitingTime[row];
+        totalTurnaroundTime += table.turnaroundTime[row];
+        lastCompletion = end;
+    }
+
+    // Charges the running process for the time up to the given instant
+    void runTo(int instant) {
+        table.remainingTime[running] -= instant - time;
+        time = instant;
+    }
+}
@@ -0,0 +1,214 @@
+package main.algorithms;
+
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.Scratch;
+import main.TableScheduler;
+
+// Multi-level feedback queue. New arrivals enter level 0. A process that uses up its level's quantum drops one
+// level. A process at a lower level is preempted as soon as something arrives at level 0, and goes back to the
+// tail of its own level without being demoted. Every boostInterval time units (0 disables boosting) all waiting
+// processes move back to level 0.
+public class MLFQ implements TableScheduler, CorePolicy {
+    public static final int MAX_LEVELS = 64;
+
+    private final int[] quanta;
+    private final int boostInterval;
+
+    public MLFQ(int[] quanta, int boostInterval) {
+        if (quanta.length == 0 || quanta.length > MAX_LEVELS) {
+            throw new IllegalArgumentException("MLFQ needs between 1 and " + MAX_LEVELS + " levels");
+        }
+        for (int quantum : quanta) {
+            if (quantum <= 0) {
+                throw new IllegalArgumentException("Every MLFQ level quantum must be greater than zero");
+            }
+        }
+        if (boostInterval < 0) {
+            throw new IllegalArgumentException("MLFQ boost interval must not be negative");
+        }
+        this.quanta = quanta.clone();
+        this.boostInterval = boostInterval;
+    }
+
+    public void schedule(ProcessTable table, ExecutionListener listener) {
+        table.sortByArrival();
+
+        int[] arrivalTime = table.arrivalTime;
+        int[] remainingTime = table.remainingTime;
+        int total = table.size();
+        int levels = quanta.length;
+        // Per-level FIFO queues linked through next[]; bit k of nonEmpty is set while level k has work
+        Scratch buffers = Scratch.get();
+        int[] next = buffers.ints(Scratch.LEVEL_LINKS, total);
+        int[] head = buffers.ints(Scratch.LEVEL_HEADS, levels);
+        int[] tail = buffers.ints(Scratch.LEVEL_TAILS, levels);
+        long nonEmpty = 0;
+        long nextBoost = boostInterval > 0 ? boostInterval : Long.MAX_VALUE;
+        int time = 0;
+        int index = 0;
+        int completed = 0;
+
+        while (completed < total) {
+            while (index < total && arrivalTime[index] <= time) {
+                nonEmpty = enqueue(next, head, tail, nonEmpty, 0, index++);
+            }
+
+            if (nonEmpty == 0) {
+                if (index > 0) {
+                    listener.onIdle(time, arrivalTime[index]);
+                }
+                time = arrivalTime[index];
+                continue;
+            }
+
+            if (time >= nextBoost) {
+                nonEmpty = boost(next, head, tail, nonEmpty);
+                nextBoost = (time / boostInterval + 1) * (long) boostInterval;
+            }
+
+            int k = Long.numberOfTrailingZeros(nonEmpty);
+            int current = head[k];
+            head[k] = next[current];
+            if (head[k] < 0) {
+                nonEmpty &= ~(1L << k);
+            }
+            if (table.startTime[current] < 0) {
+                table.startTime[current] = time;
+            }
+
+            int executeTime = Math.min(quanta[k], remainingTime[current]);
+            boolean preempted = false;
+            if (k > 0 && index < total && arrivalTime[index] < time + executeTime) {
+                executeTime = arrivalTime[index] - time;
+                preempted = true;
+            }
+            listener.onRun(current, time, time + executeTime);
+            time += executeTime;
+            remainingTime[current] -= executeTime;
+
+            // Arrivals during the slice queue up ahead of the process that just ran
+            while (index < total && arrivalTime[index] <= time) {
+                nonEmpty = enqueue(next, head, tail, nonEmpty, 0, index++);
+            }
+
+            if (remainingTime[current] > 0) {
+                int demoted = preempted ? k : Math.min(k + 1, levels - 1);
+                nonEmpty = enqueue(next, head, tail, nonEmpty, demoted, current);
+            } else {
+                table.turnaroundTime[current] = time - arrivalTime[current];
+                table.waitingTime[current] = table.turnaroundTime[current] - table.burstTime[current];
+                table.completionTime[current] = time;
+                completed++;
+            }
+        }
+    }
+
+    @Override
+    public CoreQueue[] newQueues(ProcessTable table, int cores) {
+        int[] next = new int[Math.max(table.size(), 1)];
+        int[] levelOf = new int[next.length];
+        CoreQueue[] queues = new CoreQueue[cores];
+        for (int i = 0; i < cores; i++) {
+            queues[i] = new LevelQueue(next, levelOf);
+        }
+        return queues;
+    }
+
+    @Override
+    public int startTime() {
+        return 0;
+    }
+
+    private static long enqueue(int[] next, int[] head, int[] tail, long nonEmpty, int k, int row) {
+        next[row] = -1;
+        if ((nonEmpty & (1L << k)) == 0) {
+            head[k] = row;
+        } else {
+            next[tail[k]] = row;
+        }
+        tail[k] = row;
+        return nonEmpty | (1L << k);
+    }
+
+    // Splices every lower level onto the end of level 0 in O(levels), keeping the order within and across levels
+    private static long boost(int[] next, int[] head, int[] tail, long nonEmpty) {
+        long lower = nonEmpty & ~1L;
+        while (lower != 0) {
+            int k = Long.numberOfTrailingZeros(lower);
+            lower &= lower - 1;
+            if ((nonEmpty & 1L) == 0) {
+                head[0] = head[k];
+            } else {
+                next[tail[0]] = head[k];
+            }
+            tail[0] = tail[k];
+            nonEmpty |= 1L;
+        }
+        return nonEmpty & 1L;
+    }
+
+    // One core's levels; the links and the level a process was last dispatched from are shared by all cores
+    private final class LevelQueue extends CoreQueue {
+        private final int[] next;
+        private final int[] levelOf;
+        private final int[] head = new int[quanta.length];
+        private final int[] tail = new int[quanta.length];
+        private long nonEmpty;
+        private long nextBoost = boostInterval > 0 ? boostInterval : Long.MAX_VALUE;
+        private int size;
+
+        LevelQueue(int[] next, int[] levelOf) {
+            this.next = next;
+            this.levelOf = levelOf;
+        }
+
+        @Override
+        void add(int row) {
+            nonEmpty = enqueue(next, head, tail, nonEmpty, 0, row);
+            size++;
+        }
+
+        @Override
+        void requeue(int row, boolean preempted) {
+            int k = levelOf[row];
+            nonEmpty = enqueue(next, head, tail, nonEmpty, preempted ? k : Math.min(k + 1, quanta.length - 1), row);
+            size++;
+        }
+
+        @Override
+        int poll(int time) {
+            if (size == 0) {
+                return -1;
+            }
+            if (time >= nextBoost) {
+                nonEmpty = boost(next, head, tail, nonEmpty);
+                nextBoost = (time / boostInterval + 1) * (long) boostInterval;
+            }
+            int k = Long.numberOfTrailingZeros(nonEmpty);
+            int row = head[k];
+            head[k] = next[row];
+            if (head[k] < 0) {
+                nonEmpty &= ~(1L << k);
+            }
+            size--;
+            levelOf[row] = k;
+            return row;
+        }
+
+        @Override
+        int size() {
+            return size;
+        }
+
+        @Override
+        int slice(int row) {
+            return quanta[levelOf[row]];
+        }
+
+        @Override
+        boolean preemptedByArrival(int row) {
+            return levelOf[row] > 0;
+        }
+    }
+}
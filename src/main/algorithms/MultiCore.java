@@ -0,0 +1,232 @@
+package main.algorithms;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.TableScheduler;
+
+// Runs one of the built-in algorithms on several simulated cores, each with its own run queue. Arrivals are
+// placed on a core by the load-balancing policy; with work stealing a core that runs dry takes the next
+// process from the longest queue. With a single core the results match the uniprocessor scheduler.
+public class MultiCore implements TableScheduler {
+    public static final int MAX_CORES = 1024;
+
+    public enum LoadBalancing {
+        // Arrivals are dealt to cores in turn and never move
+        STATIC,
+        // Arrivals go to the core with the fewest processes; they never move afterwards
+        LEAST_LOADED,
+        // Least-loaded placement, and idle cores steal from the longest queue
+        WORK_STEALING;
+
+        public static LoadBalancing parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Unsupported load balancing policy: " + value);
+            }
+        }
+    }
+
+    private final CorePolicy policy;
+    private final int cores;
+    private final LoadBalancing balancing;
+
+    public MultiCore(TableScheduler scheduler, int cores, LoadBalancing balancing) {
+        if (!(scheduler instanceof CorePolicy)) {
+            throw new IllegalArgumentException(scheduler.getClass().getSimpleName() + " does not support multiple cores");
+        }
+        if (cores <= 0 || cores > MAX_CORES) {
+            throw new IllegalArgumentException("Cores must be between 1 and " + MAX_CORES);
+        }
+        this.policy = (CorePolicy) scheduler;
+        this.cores = cores;
+        this.balancing = balancing;
+    }
+
+    public void schedule(ProcessTable table, ExecutionListener listener) {
+        table.sortByArrival();
+        new Run(table, listener).simulate();
+    }
+
+    // State of one simulation, per core unless noted
+    private final class Run {
+        final ProcessTable table;
+        final ExecutionListener listener;
+        final CoreQueue[] queues;
+        final int[] running = new int[cores];
+        final int[] sliceStart = new int[cores];
+        final int[] sliceEnd = new int[cores];
+        final int[] lastEnd = new int[cores];
+        // Slice length of a lone process running several slices in one go, 0 otherwise
+        final int[] merged = new int[cores];
+        final boolean[] used = new boolean[cores];
+        // Slice ends keyed by (time, core); entries left behind by preemption are skipped when they surface
+        final LongHeap events = new LongHeap(cores);
+        // Cores whose running process or queue changed at the current instant
+        final int[] dirty = new int[cores];
+        final boolean[] isDirty = new boolean[cores];
+        int dirtyCount;
+        int completed;
+        int time = policy.startTime();
+
+        Run(ProcessTable table, ExecutionListener listener) {
+            this.table = table;
+            this.listener = listener;
+            this.queues = policy.newQueues(table, cores);
+            Arrays.fill(running, -1);
+        }
+
+        void simulate() {
+            int[] arrivalTime = table.arrivalTime;
+            int total = table.size();
+            int next = 0;
+
+            while (completed < total) {
+                long upcoming = next < total ? arrivalTime[next] : Long.MAX_VALUE;
+                while (!events.isEmpty()) {
+                    long event = events.peek();
+                    int core = (int) event;
+                    if (running[core] >= 0 && sliceEnd[core] == (int) (event >> 32)) {
+                        upcoming = Math.min(upcoming, event >> 32);
+                        break;
+                    }
+                    events.pop();
+                }
+                time = (int) Math.max(time, upcoming);
+
+                // Arrivals are queued before slices ending now are requeued, as in the uniprocessor schedulers
+                while (next < total && arrivalTime[next] <= time) {
+                    arrive(next++);
+                }
+                while (!events.isEmpty() && (int) (events.peek() >> 32) == time) {
+                    int core = (int) events.pop();
+                    if (running[core] >= 0 && sliceEnd[core] == time) {
+                        stop(core, false);
+                    }
+                }
+
+                // Cores serve their own queues before idle ones go stealing
+                for (int i = 0; i < dirtyCount; i++) {
+                    int core = dirty[i];
+                    if (running[core] < 0) {
+                        dispatch(core, queues[core].poll(time));
+                    }
+                }
+                if (balancing == LoadBalancing.WORK_STEALING) {
+                    for (int i = 0; i < dirtyCount; i++) {
+                        int core = dirty[i];
+                        int victim = running[core] < 0 ? longestQueue(queues) : -1;
+                        if (victim >= 0) {
+                            dispatch(core, queues[victim].poll(time));
+                        }
+                    }
+                }
+                for (int i = 0; i < dirtyCount; i++) {
+                    isDirty[dirty[i]] = false;
+                }
+                dirtyCount = 0;
+            }
+        }
+
+        void arrive(int row) {
+            int core = place(queues, running, row);
+            int current = running[core];
+            if (current >= 0 && merged[core] > 0) {
+                // Company arrived: the merged run stops at the next slice boundary, as if sliced all along
+                int slice = merged[core];
+                long boundary = sliceStart[core] + ((long) time - sliceStart[core] + slice - 1) / slice * slice;
+                if (boundary < sliceEnd[core]) {
+                    sliceEnd[core] = (int) boundary;
+                    events.push((boundary << 32) | core);
+                }
+                merged[core] = 0;
+            } else if (current >= 0 && sliceEnd[core] > time && queues[core].preemptedByArrival(current)) {
+                stop(core, true);
+            }
+            queues[core].add(row);
+            markDirty(core);
+        }
+
+        // Ends the running slice on a core, requeueing or completing its process
+        void stop(int core, boolean preempted) {
+            int row = running[core];
+            int start = sliceStart[core];
+            running[core] = -1;
+            lastEnd[core] = time;
+            markDirty(core);
+            policy.markStart(table, row, start, time);
+            table.remainingTime[row] -= time - start;
+            listener.onCoreRun(core, row, start, time);
+            if (table.remainingTime[row] > 0) {
+                queues[core].requeue(row, preempted);
+                return;
+            }
+            table.turnaroundTime[row] = time - table.arrivalTime[row];
+            table.waitingTime[row] = table.turnaroundTime[row] - table.burstTime[row];
+            table.completionTime[row] = time;
+            completed++;
+        }
+
+        void dispatch(int core, int row) {
+            if (row < 0) {
+                return;
+            }
+            if (used[core] && time > lastEnd[core]) {
+                listener.onCoreIdle(core, lastEnd[core], time);
+            }
+            used[core] = true;
+            running[core] = row;
+            sliceStart[core] = time;
+            int remaining = table.remainingTime[row];
+            int slice = queues[core].slice(row);
+            merged[core] = 0;
+            if (slice < remaining && queues[core].size() == 0 && queues[core].slicesRepeat()) {
+                merged[core] = slice;
+                slice = remaining;
+            }
+            sliceEnd[core] = (int) Math.min((long) time + Math.min(slice, remaining), Integer.MAX_VALUE);
+            events.push(((long) sliceEnd[core] << 32) | core);
+        }
+
+        void markDirty(int core) {
+            if (!isDirty[core]) {
+                isDirty[core] = true;
+                dirty[dirtyCount++] = core;
+            }
+        }
+    }
+
+    private int place(CoreQueue[] queues, int[] running, int row) {
+        if (balancing == LoadBalancing.STATIC) {
+            return row % cores;
+        }
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int core = 0; core < cores; core++) {
+            int load = queues[core].size() + (running[core] >= 0 ? 1 : 0);
+            if (load < bestLoad) {
+                best = core;
+                bestLoad = load;
+                if (load == 0) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    private int longestQueue(CoreQueue[] queues) {
+        int victim = -1;
+        int longest = 0;
+        for (int core = 0; core < cores; core++) {
+            if (queues[core].size() > longest) {
+                victim = core;
+                longest = queues[core].size();
+            }
+        }
+        return victim;
+    }
+}
@@ -1,59 +1,116 @@
 package main.algorithms;
 
-import java.util.Comparator;
-import java.util.List;
+import java.util.Arrays;
 
-import main.Process;
-import main.Scheduler;
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.Scratch;
+import main.Simulation;
+import main.TableScheduler;
 
-public class NPP implements Scheduler {
-    public void schedule(List<Process> processes) {
-        processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
+public class NPP implements TableScheduler, CorePolicy {
+    public void schedule(ProcessTable table, ExecutionListener listener) {
+        table.sortByArrival();
 
-        int total = processes.size();
-        int completed = 0;
-        int time = processes.isEmpty() ? 0 : processes.get(0).arrivalTime;
+        int[] arrivalTime = table.arrivalTime;
+        int[] priority = table.priority;
+        int total = table.size();
+        Scratch buffers = Scratch.get();
+        int[] order = tieBreakOrder(table, buffers.ints(Scratch.TIE_ORDER, total));
+        // Ready processes keyed by (priority, position in arrival/pid order)
+        LongHeap ready = new LongHeap(buffers.longs(Scratch.READY_HEAP, total));
+        int next = 0;
+        int time = total == 0 ? 0 : arrivalTime[0];
 
-        while (completed < total) {
-            Process current = null;
-
-            for (Process p : processes) {
-                if (p.remainingTime <= 0 || p.arrivalTime > time) {
-                    continue;
-                }
-
-                if (current == null || p.priority < current.priority
-                        || (p.priority == current.priority && p.arrivalTime < current.arrivalTime)
-                        || (p.priority == current.priority && p.arrivalTime == current.arrivalTime && p.pid < current.pid)) {
-                    current = p;
-                }
+        while (next < total || !ready.isEmpty()) {
+            while (next < total && arrivalTime[order[next]] <= time) {
+                ready.push(((long) priority[order[next]] << 32) | next);
+                next++;
             }
 
-            if (current == null) {
-                int nextArrival = Integer.MAX_VALUE;
-                for (Process p : processes) {
-                    if (p.remainingTime > 0 && p.arrivalTime > time) {
-                        nextArrival = Math.min(nextArrival, p.arrivalTime);
-                    }
-                }
-                if (nextArrival == Integer.MAX_VALUE) {
-                    break;
-                }
-                time = nextArrival;
+            if (ready.isEmpty()) {
+                listener.onIdle(time, arrivalTime[order[next]]);
+                time = arrivalTime[order[next]];
                 continue;
             }
 
-            if (current.startTime < 0) {
-                current.startTime = time;
+            int current = order[(int) ready.pop()];
+            if (table.startTime[current] < 0) {
+                table.startTime[current] = time;
             }
 
-            time += current.remainingTime;
-            current.remainingTime = 0;
-            completed++;
+            listener.onRun(current, time, time + table.remainingTime[current]);
+            time += table.remainingTime[current];
+            table.remainingTime[current] = 0;
 
-            current.turnaroundTime = time - current.arrivalTime;
-            current.waitingTime = current.turnaroundTime - current.burstTime;
-            current.completionTime = time;
+            table.turnaroundTime[current] = time - arrivalTime[current];
+            table.waitingTime[current] = table.turnaroundTime[current] - table.burstTime[current];
+            table.completionTime[current] = time;
+        }
+    }
+
+    @Override
+    public Simulation simulate(ProcessTable table) {
+        return new NonPreemptiveSimulation(table, true);
+    }
+
+    @Override
+    public CoreQueue[] newQueues(ProcessTable table, int cores) {
+        // The queues keep these arrays for the whole multi-core run, so they are not borrowed
+        int[] order = tieBreakOrder(table, new int[table.size()]);
+        int[] rank = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        CoreQueue[] queues = new CoreQueue[cores];
+        for (int i = 0; i < cores; i++) {
+            queues[i] = new HeapCoreQueue() {
+                @Override
+                long key(int row) {
+                    return ((long) table.priority[row] << 32) | rank[row];
+                }
+
+                @Override
+                int row(long key) {
+                    return order[(int) key];
+                }
+            };
+        }
+        return queues;
+    }
+
+    @Override
+    public int startTime() {
+        return Integer.MIN_VALUE;
+    }
+
+    // Fills order with the rows of the arrival-sorted table once equal arrivals are further ordered by pid
+    private static int[] tieBreakOrder(ProcessTable table, int[] order) {
+        int total = table.size();
+        int[] arrivalTime = table.arrivalTime;
+        long[] keys = null;
+        int start = 0;
+        while (start < total) {
+            int end = start + 1;
+            while (end < total && arrivalTime[end] == arrivalTime[start]) {
+                end++;
+            }
+            if (end - start == 1) {
+                order[start] = start;
+            } else {
+                if (keys == null) {
+                    keys = Scratch.get().longs(Scratch.TIE_KEYS, total);
+                }
+                for (int i = start; i < end; i++) {
+                    keys[i] = ((long) table.pid[i] << 32) | i;
+                }
+                Arrays.sort(keys, start, end);
+                for (int i = start; i < end; i++) {
+                    order[i] = (int) keys[i];
+                }
+            }
+            start = end;
         }
+        return order;
     }
 }
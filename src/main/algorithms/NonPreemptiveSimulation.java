@@ -0,0 +1,89 @@
+package main.algorithms;
+
+import java.util.Arrays;
+
+import main.ProcessTable;
+
+// Incremental FCFS and NPP: once dispatched a process runs to completion
+final class NonPreemptiveSimulation extends IncrementalSimulation {
+    private final boolean byPriority;
+    // Ready processes keyed by (priority, admission sequence); FCFS uses the sequence alone
+    private final LongHeap ready = new LongHeap(16);
+    private int[] rowOfSequence = new int[16];
+    private int sequence;
+    private long[] group = new long[16];
+    private int finish;
+
+    NonPreemptiveSimulation(ProcessTable table, boolean byPriority) {
+        // FCFS starts its clock at zero, NPP at the first arrival
+        super(table, byPriority ? NOT_STARTED : 0);
+        this.byPriority = byPriority;
+    }
+
+    @Override
+    void admit(int upTo) {
+        while (hasArrivals() && nextArrival() <= upTo) {
+            if (!byPriority) {
+                enqueue(popArrival());
+                continue;
+            }
+            // NPP breaks ties among equal arrivals by pid; the whole group is known because later
+            // processes must arrive after the clock
+            int arrival = nextArrival();
+            int count = 0;
+            while (hasArrivals() && nextArrival() == arrival) {
+                if (count == group.length) {
+                    group = Arrays.copyOf(group, count * 2);
+                }
+                int row = popArrival();
+                group[count++] = ((long) table.pid[row] << 32) | row;
+            }
+            Arrays.sort(group, 0, count);
+            for (int i = 0; i < count; i++) {
+                enqueue((int) group[i]);
+            }
+        }
+    }
+
+    private void enqueue(int row) {
+        if (sequence == rowOfSequence.length) {
+            rowOfSequence = Arrays.copyOf(rowOfSequence, sequence * 2);
+        }
+        rowOfSequence[sequence] = row;
+        long rank = byPriority ? (long) table.priority[row] << 32 : 0;
+        ready.push(rank | sequence++);
+    }
+
+    @Override
+    void run(int until) {
+        while (true) {
+            admit(Math.min(time, until));
+            if (running >= 0) {
+                if (finish > until) {
+                    runTo(Math.max(time, until));
+                    return;
+                }
+                runTo(finish);
+                complete(running, finish);
+                running = -1;
+                continue;
+            }
+            checkDeadline(until);
+            if (ready.isEmpty()) {
+                if (!hasArrivals() || nextArrival() > until) {
+                    return;
+                }
+                time = Math.max(time, nextArrival());
+                continue;
+            }
+            if (time > until) {
+                return;
+            }
+            running = rowOfSequence[(int) ready.pop()];
+            if (table.startTime[running] < 0) {
+                table.startTime[running] = time;
+            }
+            finish = time + table.remainingTime[running];
+        }
+    }
+}
@@ -1,67 +1,126 @@
 package main.algorithms;
 
-import java.util.Comparator;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.Scratch;
+import main.Simulation;
+import main.TableScheduler;
 
-import main.Process;
-import main.Scheduler;
+public class RR implements TableScheduler, CorePolicy {
+    private final int timeQuantum;
 
-public class RR implements Scheduler {
-    private int timeQuantum;
-    
     public RR(int timeQuantum) {
         this.timeQuantum = timeQuantum;
     }
     
-    public void schedule(List<Process> processes) {
-        processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
-        
-        Queue<Process> queue = new LinkedList<>();
+    public void schedule(ProcessTable table, ExecutionListener listener) {
+        table.sortByArrival();
+
+        int[] arrivalTime = table.arrivalTime;
+        int[] remainingTime = table.remainingTime;
+        int total = table.size();
+        // Ring buffer of table rows; a process is never queued twice, so total slots suffice. The borrowed
+        // array may be longer, which the modular indexing does not mind.
+        int[] queue = Scratch.get().ints(Scratch.RUN_QUEUE, total);
+        int head = 0;
+        int size = 0;
+        int sinceSkip = 0;
         int time = 0;
         int index = 0;
-        
-        while (index < processes.size() || !queue.isEmpty()) {
+
+        while (index < total || size > 0) {
             // Add all processes that have arrived at the current time slice
-            while (index < processes.size() && processes.get(index).arrivalTime <= time) {
-                queue.add(processes.get(index));
-                index++;
+            while (index < total && arrivalTime[index] <= time) {
+                queue[(head + size++) % queue.length] = index++;
             }
-            
-            if (queue.isEmpty()) {
+
+            if (size == 0) {
                 // No process available, jump to next arrival time
-                if (index < processes.size()) {
-                    time = processes.get(index).arrivalTime;
-                    queue.add(processes.get(index));
-                    index++;
+                if (index > 0) {
+                    listener.onIdle(time, arrivalTime[index]);
                 }
+                time = arrivalTime[index];
+                queue[(head + size++) % queue.length] = index++;
+                continue;
+            }
+
+            // Once per trip around the queue, fast-forward through rounds in which nothing arrives or finishes
+            if (++sinceSkip >= size) {
+                sinceSkip = 0;
+                time = skipFullRounds(table, queue, head, size, time, index < total ? arrivalTime[index] : Integer.MAX_VALUE, listener);
+            }
+
+            // Execute process for time quantum or remaining burst time
+            int current = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            if (table.startTime[current] < 0) {
+                table.startTime[current] = time;
+            }
+            int executeTime = Math.min(timeQuantum, remainingTime[current]);
+            listener.onRun(current, time, time + executeTime);
+            time += executeTime;
+            remainingTime[current] -= executeTime;
+
+            // Add newly arrived processes during execution
+            while (index < total && arrivalTime[index] <= time) {
+                queue[(head + size++) % queue.length] = index++;
+            }
+
+            if (remainingTime[current] > 0) {
+                // Process not finished, add back to queue
+                queue[(head + size++) % queue.length] = current;
             } else {
-                // Execute process for time quantum or remaining burst time
-                Process p = queue.poll();
-                if (p.startTime < 0) {
-                    p.startTime = time;
-                }
-                int executeTime = Math.min(timeQuantum, p.remainingTime);
-                time += executeTime;
-                p.remainingTime -= executeTime;
-                
-                // Add newly arrived processes during execution
-                while (index < processes.size() && processes.get(index).arrivalTime <= time) {
-                    queue.add(processes.get(index));
-                    index++;
-                }
-                
-                if (p.remainingTime > 0) {
-                    // Process not finished, add back to queue
-                    queue.add(p);
-                } else {
-                    // Process finished
-                    p.turnaroundTime = time - p.arrivalTime;
-                    p.waitingTime = p.turnaroundTime - p.burstTime;
-                    p.completionTime = time;
-                }
+                // Process finished
+                table.turnaroundTime[current] = time - arrivalTime[current];
+                table.waitingTime[current] = table.turnaroundTime[current] - table.burstTime[current];
+                table.completionTime[current] = time;
+            }
+        }
+    }
+
+    @Override
+    public Simulation simulate(ProcessTable table) {
+        return new RRSimulation(table, timeQuantum);
+    }
+
+    @Override
+    public CoreQueue[] newQueues(ProcessTable table, int cores) {
+        CoreQueue[] queues = new CoreQueue[cores];
+        for (int i = 0; i < cores; i++) {
+            queues[i] = new FifoCoreQueue(timeQuantum);
+        }
+        return queues;
+    }
+
+    @Override
+    public int startTime() {
+        return 0;
+    }
+
+    // Runs as many whole rounds over the queued processes as possible without anyone finishing
+    // or a new arrival landing inside the window, and returns the advanced clock
+    private int skipFullRounds(ProcessTable table, int[] queue, int head, int size, int time, int nextArrival,
+            ExecutionListener listener) {
+        int minRemaining = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            minRemaining = Math.min(minRemaining, table.remainingTime[queue[(head + i) % queue.length]]);
+        }
+        long roundLength = (long) size * timeQuantum;
+        long rounds = (minRemaining - 1) / timeQuantum;
+        rounds = Math.min(rounds, (nextArrival - 1L - time) / roundLength);
+        if (rounds <= 0) {
+            return time;
+        }
+        int executed = (int) (rounds * timeQuantum);
+        listener.onRounds(queue, head, size, time, timeQuantum, rounds);
+        for (int i = 0; i < size; i++) {
+            int row = queue[(head + i) % queue.length];
+            if (table.startTime[row] < 0) {
+                table.startTime[row] = time + i * timeQuantum;
             }
+            table.remainingTime[row] -= executed;
         }
+        return (int) (time + rounds * roundLength);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,106 @@
+package main.algorithms;
+
+import main.ProcessTable;
+
+// Incremental Round Robin with the same whole-round fast-forward as RR
+final class RRSimulation extends IncrementalSimulation {
+    private final int timeQuantum;
+    private int[] queue = new int[16];
+    private int head;
+    private int size;
+    private int sinceSkip;
+    private int sliceEnd;
+
+    RRSimulation(ProcessTable table, int timeQuantum) {
+        super(table, 0);
+        this.timeQuantum = timeQuantum;
+    }
+
+    @Override
+    void admit(int upTo) {
+        while (hasArrivals() && nextArrival() <= upTo) {
+            enqueue(popArrival());
+        }
+    }
+
+    private void enqueue(int row) {
+        if (size == queue.length) {
+            int[] grown = new int[size * 2];
+            for (int i = 0; i < size; i++) {
+                grown[i] = queue[(head + i) % queue.length];
+            }
+            queue = grown;
+            head = 0;
+        }
+        queue[(head + size++) % queue.length] = row;
+    }
+
+    @Override
+    void run(int until) {
+        while (true) {
+            admit(Math.min(time, until));
+            if (running >= 0) {
+                if (sliceEnd > until) {
+                    runTo(Math.max(time, until));
+                    return;
+                }
+                runTo(sliceEnd);
+                // Arrivals during the slice queue up ahead of the preempted process
+                admit(time);
+                if (table.remainingTime[running] > 0) {
+                    enqueue(running);
+                } else {
+                    complete(running, time);
+                }
+                running = -1;
+                continue;
+            }
+            checkDeadline(until);
+            if (size == 0) {
+                if (!hasArrivals() || nextArrival() > until) {
+                    return;
+                }
+                time = Math.max(time, nextArrival());
+                continue;
+            }
+            if (time > until) {
+                return;
+            }
+
+            if (++sinceSkip >= size) {
+                sinceSkip = 0;
+                skipFullRounds(hasArrivals() ? Math.min(nextArrival() - 1L, until) : until);
+            }
+
+            running = queue[head];
+            head = (head + 1) % queue.length;
+            size--;
+            if (table.startTime[running] < 0) {
+                table.startTime[running] = time;
+            }
+            sliceEnd = time + Math.min(timeQuantum, table.remainingTime[running]);
+        }
+    }
+
+    // Runs whole rounds over the queue that end by the given time without anyone finishing
+    private void skipFullRounds(long limit) {
+        int minRemaining = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            minRemaining = Math.min(minRemaining, table.remainingTime[queue[(head + i) % queue.length]]);
+        }
+        long roundLength = (long) size * timeQuantum;
+        long rounds = Math.min((minRemaining - 1) / timeQuantum, (limit - time) / roundLength);
+        if (rounds <= 0) {
+            return;
+        }
+        int executed = (int) (rounds * timeQuantum);
+        for (int i = 0; i < size; i++) {
+            int row = queue[(head + i) % queue.length];
+            if (table.startTime[row] < 0) {
+                table.startTime[row] = time + i * timeQuantum;
+            }
+            table.remainingTime[row] -= executed;
+        }
+        time = (int) (time + rounds * roundLength);
+    }
+}
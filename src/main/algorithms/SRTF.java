@@ -1,54 +1,103 @@
 package main.algorithms;
 
-import java.util.Comparator;
-import java.util.List;
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.Scratch;
+import main.Simulation;
+import main.TableScheduler;
 
-import main.Process;
-import main.Scheduler;
+public class SRTF implements TableScheduler, CorePolicy {
+    public void schedule(ProcessTable table, ExecutionListener listener) {
+        table.sortByArrival();
 
-public class SRTF implements Scheduler {
-    public void schedule(List<Process> processes) {
-        processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
+        int[] arrivalTime = table.arrivalTime;
+        int[] remainingTime = table.remainingTime;
+        int[] startTime = table.startTime;
+        int total = table.size();
+        // Ready processes keyed by (remainingTime, arrival order), so ties go to the earliest arrival
+        LongHeap ready = new LongHeap(Scratch.get().longs(Scratch.READY_HEAP, total));
+        int next = 0;
+        int time = total == 0 ? 0 : arrivalTime[0];
 
-        int time = processes.isEmpty() ? 0 : processes.get(0).arrivalTime;
-        int completed = 0;
-        int total = processes.size();
-
-        while (completed < total) {
-            Process current = null;
-            int minRemaining = Integer.MAX_VALUE;
-
-            for (Process p : processes) {
-                if (p.arrivalTime <= time && p.remainingTime > 0 && p.remainingTime < minRemaining) {
-                    minRemaining = p.remainingTime;
-                    current = p;
-                }
+        while (next < total || !ready.isEmpty()) {
+            while (next < total && arrivalTime[next] <= time) {
+                ready.push(key(remainingTime[next], next));
+                next++;
             }
 
-            if (current == null) {
-                int nextArrival = Integer.MAX_VALUE;
-                for (Process p : processes) {
-                    if (p.remainingTime > 0 && p.arrivalTime > time) {
-                        nextArrival = Math.min(nextArrival, p.arrivalTime);
-                    }
-                }
-                time = nextArrival == Integer.MAX_VALUE ? time + 1 : nextArrival;
+            if (ready.isEmpty()) {
+                listener.onIdle(time, arrivalTime[next]);
+                time = arrivalTime[next];
                 continue;
             }
 
-            if (current.startTime < 0) {
-                current.startTime = time;
-            }
+            int current = (int) ready.pop();
 
-            current.remainingTime--;
-            time++;
+            // Run until the process finishes or the next arrival gets a chance to preempt it
+            int until = time + remainingTime[current];
+            if (next < total && arrivalTime[next] < until) {
+                until = arrivalTime[next];
+            }
+            if (startTime[current] < 0) {
+                // Matches the per-tick semantics: a negative start is overwritten by every later tick
+                startTime[current] = until > 0 ? Math.max(time, 0) : until - 1;
+            }
+            listener.onRun(current, time, until);
+            remainingTime[current] -= until - time;
+            time = until;
 
-            if (current.remainingTime == 0) {
-                completed++;
-                current.turnaroundTime = time - current.arrivalTime;
-                current.waitingTime = current.turnaroundTime - current.burstTime;
-                current.completionTime = time;
+            if (remainingTime[current] > 0) {
+                ready.push(key(remainingTime[current], current));
+            } else {
+                table.turnaroundTime[current] = time - arrivalTime[current];
+                table.waitingTime[current] = table.turnaroundTime[current] - table.burstTime[current];
+                table.completionTime[current] = time;
             }
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public Simulation simulate(ProcessTable table) {
+        return new SRTFSimulation(table);
+    }
+
+    @Override
+    public CoreQueue[] newQueues(ProcessTable table, int cores) {
+        CoreQueue[] queues = new CoreQueue[cores];
+        for (int i = 0; i < cores; i++) {
+            queues[i] = new HeapCoreQueue() {
+                @Override
+                long key(int row) {
+                    return SRTF.key(table.remainingTime[row], row);
+                }
+
+                @Override
+                int row(long key) {
+                    return (int) key;
+                }
+
+                @Override
+                boolean preemptedByArrival(int row) {
+                    return true;
+                }
+            };
+        }
+        return queues;
+    }
+
+    @Override
+    public int startTime() {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public void markStart(ProcessTable table, int row, int start, int end) {
+        if (table.startTime[row] < 0) {
+            table.startTime[row] = end > 0 ? Math.max(start, 0) : end - 1;
+        }
+    }
+
+    private static long key(int remainingTime, int index) {
+        return ((long) remainingTime << 32) | index;
+    }
+}
@@ -0,0 +1,81 @@
+package main.algorithms;
+
+import java.util.Arrays;
+
+import main.ProcessTable;
+
+// Incremental SRTF: the running process is only re-examined at completions and arrivals
+final class SRTFSimulation extends IncrementalSimulation {
+    // Ready processes keyed by (remainingTime, admission sequence), matching the batch tie-break
+    private final LongHeap ready = new LongHeap(16);
+    private int[] rowOfSequence = new int[16];
+    private int sequence;
+    private int runningSequence;
+
+    SRTFSimulation(ProcessTable table) {
+        super(table, NOT_STARTED);
+    }
+
+    @Override
+    void admit(int upTo) {
+        while (hasArrivals() && nextArrival() <= upTo) {
+            int row = popArrival();
+            if (sequence == rowOfSequence.length) {
+                rowOfSequence = Arrays.copyOf(rowOfSequence, sequence * 2);
+            }
+            rowOfSequence[sequence] = row;
+            ready.push(key(table.remainingTime[row], sequence++));
+        }
+    }
+
+    @Override
+    void run(int until) {
+        while (true) {
+            admit(Math.min(time, until));
+            if (running < 0) {
+                checkDeadline(until);
+                if (ready.isEmpty()) {
+                    if (!hasArrivals() || nextArrival() > until) {
+                        return;
+                    }
+                    time = Math.max(time, nextArrival());
+                    continue;
+                }
+                runningSequence = (int) ready.pop();
+                running = rowOfSequence[runningSequence];
+            }
+
+            // Run until the process finishes or the next arrival gets a chance to preempt it
+            int end = time + table.remainingTime[running];
+            if (hasArrivals() && nextArrival() < end) {
+                end = nextArrival();
+            }
+            if (end > until) {
+                if (until > time) {
+                    markStart(until);
+                    runTo(until);
+                }
+                return;
+            }
+            markStart(end);
+            runTo(end);
+            if (table.remainingTime[running] > 0) {
+                ready.push(key(table.remainingTime[running], runningSequence));
+            } else {
+                complete(running, end);
+            }
+            running = -1;
+        }
+    }
+
+    // Same negative-time start semantics as SRTF; splitting a run at the clock does not change the outcome
+    private void markStart(int end) {
+        if (table.startTime[running] < 0) {
+            table.startTime[running] = end > 0 ? Math.max(time, 0) : end - 1;
+        }
+    }
+
+    private static long key(int remainingTime, int sequence) {
+        return ((long) remainingTime << 32) | sequence;
+    }
+}
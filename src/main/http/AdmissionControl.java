@@ -0,0 +1,90 @@
+package main.http;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+// Executor for the HttpServer that caps the number of exchanges handed to the workers. Exchanges
+// over the cap are diverted to a single overflow thread where the filter answers 503 right away.
+// When even its queue is full, execute throws RejectedExecutionException, on which the server
+// closes the connection without a response.
+public final class AdmissionControl implements Executor {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+    // Exchanges waiting for their 503; each one holds an open connection
+    private static final int MAX_OVERFLOW_QUEUED = 1024;
+    private static final ThreadLocal<Boolean> REJECTED = new ThreadLocal<>();
+
+    private final Executor workers;
+    private final ExecutorService overflow;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdmissionControl(Executor workers, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("In-flight limit must be greater than zero");
+        }
+        this.workers = workers;
+        this.maxInFlight = maxInFlight;
+        this.overflow = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(MAX_OVERFLOW_QUEUED), task -> {
+                    Thread thread = new Thread(task, "admission-overflow");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Override
+    public void execute(Runnable exchange) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            overflow.execute(() -> {
+                REJECTED.set(Boolean.TRUE);
+                try {
+                    exchange.run();
+                } finally {
+                    REJECTED.remove();
+                }
+            });
+            return;
+        }
+        workers.execute(() -> {
+            try {
+                exchange.run();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public Filter filter() {
+        return new Filter() {
+            @Override
+            public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+                if (REJECTED.get() == null) {
+                    chain.doFilter(exchange);
+                    return;
+                }
+                HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+                exchange.getResponseHeaders().set("Retry-After", RETRY_AFTER_SECONDS);
+                HttpResponses.sendError(exchange, 503, "Server is busy, retry later");
+            }
+
+            @Override
+            public String description() {
+                return "Rejects requests over the in-flight limit";
+            }
+        };
+    }
+}
@@ -0,0 +1,207 @@
+package main.http;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import main.CoreUsage;
+import main.ProcessTable;
+import main.Timeline;
+
+// Fixed-width little-endian encoding of process tables, for workloads where JSON text dominates request time.
+//
+// Request:  "PROC", int32 version (1), int32 count, then count records of
+//           int32 pid, arrivalTime, burstTime, priority
+// Response: "SCHD", int32 version (1), int32 flags, int32 count, then count records of
+//           int32 pid, arrivalTime, burstTime, priority, waitingTime, turnaroundTime, startTime, completionTime,
+//           then float64 averageWaitingTime, averageTurnaroundTime.
+//           With FLAG_CORE_USAGE: int64 makespan, int32 cores, then int64 busyTime per core.
+//           With FLAG_TIMELINE: int32 segments, then per segment int32 core, idle (0 or 1), pid, start, end.
+final class BinaryFormat {
+
+    static final String CONTENT_TYPE = "application/vnd.cpu-scheduler.table";
+    static final int VERSION = 1;
+    static final int FLAG_TIMELINE = 1;
+    static final int FLAG_CORE_USAGE = 2;
+    static final int FLAG_TIMELINE_TRUNCATED = 4;
+
+    private static final int REQUEST_MAGIC = magic("PROC");
+    private static final int RESPONSE_MAGIC = magic("SCHD");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int REQUEST_RECORD = 16;
+    // The declared count is not trusted for allocation; tables grow as records actually arrive
+    private static final int MAX_INITIAL_CAPACITY = 1 << 16;
+
+    private BinaryFormat() {
+    }
+
+    // True when the header names the binary type; parameters such as charset are ignored
+    static boolean matches(String header) {
+        if (header == null) {
+            return false;
+        }
+        for (String part : header.split(",")) {
+            int semicolon = part.indexOf(';');
+            String type = (semicolon < 0 ? part : part.substring(0, semicolon)).trim();
+            if (type.equalsIgnoreCase(CONTENT_TYPE)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ProcessTable readProcesses(InputStream input) throws IOException {
+        return readProcesses(input, 0);
+    }
+
+    // The declared count is checked against maxProcesses (0 for no limit) before any record is read
+    static ProcessTable readProcesses(InputStream input, int maxProcesses) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.limit(0);
+        require(input, buffer, 12, "header");
+        if (buffer.getInt() != REQUEST_MAGIC) {
+            throw new IllegalArgumentException("Binary body must start with \"PROC\"");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported binary format version " + version);
+        }
+        int count = buffer.getInt();
+        if (count < 0) {
+            throw new IllegalArgumentException("Process count must not be negative");
+        }
+        if (maxProcesses > 0 && count > maxProcesses) {
+            throw new RequestTooLargeException("Request has " + count + " processes; the limit is " + maxProcesses);
+        }
+
+        ProcessTable processes = new ProcessTable(Math.min(count, MAX_INITIAL_CAPACITY));
+        for (int i = 0; i < count; i++) {
+            if (buffer.remaining() < REQUEST_RECORD) {
+                require(input, buffer, REQUEST_RECORD, "process " + (i + 1) + " of " + count);
+            }
+            int pid = buffer.getInt();
+            int arrival = buffer.getInt();
+            int burst = buffer.getInt();
+            int priority = buffer.getInt();
+            if (burst <= 0) {
+                throw new IllegalArgumentException("Field 'burstTime' must be greater than zero");
+            }
+            processes.add(pid, arrival, burst, priority);
+        }
+        if (buffer.hasRemaining() || input.read() >= 0) {
+            throw new IllegalArgumentException("Unexpected data after " + count + " processes");
+        }
+        return processes;
+    }
+
+    static void writeResult(OutputStream output, ProcessTable processes, CoreUsage usage, Timeline timeline)
+            throws IOException {
+        try (Writer out = new Writer(output)) {
+            int flags = (usage != null ? FLAG_CORE_USAGE : 0)
+                    | (timeline != null ? FLAG_TIMELINE : 0)
+                    | (timeline != null && timeline.isTruncated() ? FLAG_TIMELINE_TRUNCATED : 0);
+            out.putInt(RESPONSE_MAGIC).putInt(VERSION).putInt(flags).putInt(processes.size());
+            long totalWaiting = 0;
+            long totalTurnaround = 0;
+            for (int i = 0; i < processes.size(); i++) {
+                out.putInt(processes.pid[i])
+                        .putInt(processes.arrivalTime[i])
+                        .putInt(processes.burstTime[i])
+                        .putInt(processes.priority[i])
+                        .putInt(processes.waitingTime[i])
+                        .putInt(processes.turnaroundTime[i])
+                        .putInt(processes.startTime[i])
+                        .putInt(processes.completionTime[i]);
+                totalWaiting += processes.waitingTime[i];
+                totalTurnaround += processes.turnaroundTime[i];
+            }
+            int count = processes.size();
+            out.putDouble(count == 0 ? 0 : (double) totalWaiting / count);
+            out.putDouble(count == 0 ? 0 : (double) totalTurnaround / count);
+
+            if (usage != null) {
+                out.putLong(usage.makespan()).putInt(usage.cores());
+                for (int core = 0; core < usage.cores(); core++) {
+                    out.putLong(usage.busyTime(core));
+                }
+            }
+            if (timeline != null) {
+                out.putInt(timeline.size());
+                for (int i = 0; i < timeline.size(); i++) {
+                    int row = timeline.row(i);
+                    out.putInt(timeline.core(i))
+                            .putInt(row == Timeline.IDLE ? 1 : 0)
+                            .putInt(row == Timeline.IDLE ? 0 : processes.pid[row])
+                            .putInt(timeline.start(i))
+                            .putInt(timeline.end(i));
+                }
+            }
+        }
+    }
+
+    // Compacts the buffer and reads until at least size bytes are available
+    private static void require(InputStream input, ByteBuffer buffer, int size, String what) throws IOException {
+        buffer.compact();
+        while (buffer.position() < size) {
+            int read = input.read(buffer.array(), buffer.position(), buffer.remaining());
+            if (read < 0) {
+                throw new IllegalArgumentException("Binary body ended inside the " + what);
+            }
+            buffer.position(buffer.position() + read);
+        }
+        buffer.flip();
+    }
+
+    private static int magic(String tag) {
+        return ByteBuffer.wrap(tag.getBytes(StandardCharsets.US_ASCII))
+                .order(ByteOrder.LITTLE_ENDIAN).getInt();
+    }
+
+    private static final class Writer implements Closeable {
+        private final OutputStream output;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        Writer(OutputStream output) {
+            this.output = output;
+        }
+
+        Writer putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+            return this;
+        }
+
+        Writer putLong(long value) throws IOException {
+            ensure(Long.BYTES);
+            buffer.putLong(value);
+            return this;
+        }
+
+        Writer putDouble(double value) throws IOException {
+            ensure(Double.BYTES);
+            buffer.putDouble(value);
+            return this;
+        }
+
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        private void flush() throws IOException {
+            output.write(buffer.array(), 0, buffer.position());
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+            output.close();
+        }
+    }
+}
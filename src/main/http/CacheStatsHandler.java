@@ -0,0 +1,25 @@
+package main.http;
+
+import java.io.IOException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class CacheStatsHandler implements HttpHandler {
+
+    private final ResultCache cache;
+
+    public CacheStatsHandler(ResultCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+        HttpResponses.send(exchange, 200, Json.stringify(cache.stats()));
+    }
+}
@@ -0,0 +1,46 @@
+package main.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Passes bytes through while keeping a copy of them, as long as the copy stays under the limit
+final class CapturingOutputStream extends FilterOutputStream {
+
+    private final long limit;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    CapturingOutputStream(OutputStream out, long limit) {
+        super(out);
+        this.limit = limit;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        capture(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        capture(b, off, len);
+    }
+
+    // The full body, or null if it outgrew the limit
+    byte[] captured() {
+        return copy == null ? null : copy.toByteArray();
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (copy == null) {
+            return;
+        }
+        if (copy.size() + (long) len > limit) {
+            copy = null;
+            return;
+        }
+        copy.write(b, off, len);
+    }
+}
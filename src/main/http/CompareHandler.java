@@ -0,0 +1,177 @@
+package main.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import main.BudgetExceededException;
+import main.CancellableListener;
+import main.CoreUsage;
+import main.ProcessTable;
+import main.SchedulerFactory;
+import main.TableScheduler;
+import main.Timeline;
+
+// Runs several algorithms (and RR quanta) against one parsed workload in parallel
+public class CompareHandler implements HttpHandler {
+
+    // Same cap as a quantum sweep: every run holds its own copy of the table
+    static final int MAX_RUNS = QuantumSweepHandler.MAX_CANDIDATES;
+
+    private final ForkJoinPool pool;
+    private final RequestLimits limits;
+
+    public CompareHandler(ForkJoinPool pool, RequestLimits limits) {
+        this.pool = pool;
+        this.limits = limits;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+
+        String method = exchange.getRequestMethod();
+        if ("OPTIONS".equalsIgnoreCase(method)) {
+            HttpResponses.send(exchange, 204, "");
+            return;
+        }
+
+        if (!"POST".equalsIgnoreCase(method)) {
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+
+        long started = System.nanoTime();
+        List<Run> runs;
+        try {
+            ScheduleRequest request = ScheduleRequest.read(exchange.getRequestBody(), true, limits.maxProcesses());
+            limits.check(request.processes);
+            runs = plan(request, started);
+            List<ForkJoinTask<Run>> tasks = new ArrayList<>();
+            for (Run run : runs) {
+                tasks.add(pool.submit(run::execute));
+            }
+            for (ForkJoinTask<Run> task : tasks) {
+                try {
+                    task.join();
+                } catch (RuntimeException ex) {
+                    // One failed run fails the request, so the others would only keep the shared pool busy:
+                    // queued ones are dropped and running ones stop at their next slice
+                    for (int i = 0; i < tasks.size(); i++) {
+                        tasks.get(i).cancel(false);
+                        runs.get(i).listener.cancel();
+                    }
+                    throw ex;
+                }
+            }
+        } catch (RequestTooLargeException ex) {
+            HttpResponses.sendError(exchange, 413, ex.getMessage());
+            return;
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendError(exchange, 400, ex.getMessage());
+            return;
+        } catch (BudgetExceededException ex) {
+            HttpResponses.sendError(exchange, 503, ex.getMessage());
+            return;
+        } catch (Exception ex) {
+            HttpResponses.sendError(exchange, 500, "Unexpected server error");
+            ex.printStackTrace();
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (JsonWriter json = new JsonWriter(Compression.body(exchange, 200))) {
+            json.beginObject().name("results").beginArray();
+            for (Run run : runs) {
+                json.beginObject().name("algorithm").value(run.algorithm);
+                if (run.timeQuantum != null) {
+                    json.name("timeQuantum").value(run.timeQuantum);
+                }
+                json.name("wallTimeMs").value(ResultWriter.round(run.wallTimeNanos / 1_000_000.0));
+                ResultWriter.writeResult(json, run.processes);
+                if (run.usage != null) {
+                    ResultWriter.writeCoreUsage(json, run.usage);
+                }
+                if (run.timeline != null) {
+                    ResultWriter.writeTimeline(json, run.timeline, run.processes, run.usage != null);
+                }
+                json.endObject();
+            }
+            json.endArray().endObject();
+        }
+    }
+
+    // Resolves every scheduler up front so a bad entry fails the request before anything runs. Each run simulates
+    // the whole workload, so the process and simulated-time limits are charged once per run, and the runs share
+    // the request's wall-clock budget
+    private List<Run> plan(ScheduleRequest request, long started) {
+        List<String> algorithms = request.algorithms;
+        if (algorithms == null) {
+            algorithms = request.algorithm == null ? SchedulerFactory.algorithms() : Collections.singletonList(request.algorithm);
+        }
+        List<Integer> quanta = request.timeQuanta;
+        if (quanta == null || quanta.isEmpty()) {
+            quanta = Collections.singletonList(request.timeQuantum);
+        }
+        long count = 0;
+        for (String algorithm : algorithms) {
+            count += SchedulerFactory.usesTimeQuantum(algorithm) ? quanta.size() : 1;
+        }
+        if (count > MAX_RUNS) {
+            throw new IllegalArgumentException("At most " + MAX_RUNS + " runs per comparison; got " + count);
+        }
+        limits.check(request.processes.size() * count, RequestLimits.totalBurstTime(request.processes) * count);
+
+        List<Run> runs = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            if (!SchedulerFactory.usesTimeQuantum(algorithm)) {
+                runs.add(new Run(algorithm, null, request, request.scheduler(algorithm, null), limits, started));
+                continue;
+            }
+            for (Integer quantum : quanta) {
+                Integer resolved = quantum == null ? SchedulerFactory.DEFAULT_TIME_QUANTUM : quantum;
+                runs.add(new Run(algorithm, resolved, request, request.scheduler(algorithm, resolved), limits, started));
+            }
+        }
+        return runs;
+    }
+
+    private static final class Run {
+        final String algorithm;
+        final Integer timeQuantum;
+        final TableScheduler scheduler;
+        final ProcessTable input;
+        final Timeline timeline;
+        final CoreUsage usage;
+        final CancellableListener listener;
+        ProcessTable processes;
+        long wallTimeNanos;
+
+        Run(String algorithm, Integer timeQuantum, ScheduleRequest request, TableScheduler scheduler,
+                RequestLimits limits, long started) {
+            this.algorithm = algorithm == null ? null : algorithm.toUpperCase(Locale.ROOT);
+            this.timeQuantum = timeQuantum;
+            this.scheduler = scheduler;
+            this.input = request.processes;
+            this.timeline = request.newTimeline();
+            this.usage = request.newCoreUsage();
+            this.listener = new CancellableListener(limits.guard(request.listener(timeline, usage), started));
+        }
+
+        Run execute() {
+            long start = System.nanoTime();
+            ProcessTable copy = input.copy();
+            scheduler.schedule(copy, listener);
+            wallTimeNanos = System.nanoTime() - start;
+            processes = copy;
+            return this;
+        }
+    }
+}
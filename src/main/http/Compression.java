@@ -0,0 +1,247 @@
+package main.http;
+
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+// gzip in both directions. The filter unpacks gzip request bodies and records whether the client takes gzip;
+// response bodies opened through body() stay uncompressed until they outgrow the threshold.
+public final class Compression {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int threshold;
+
+    public Compression(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public Filter filter() {
+        return new Filter() {
+            @Override
+            public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+                String encoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                if (encoding != null && !encoding.trim().isEmpty() && !"identity".equalsIgnoreCase(encoding.trim())) {
+                    String coding = encoding.trim().toLowerCase(Locale.ROOT);
+                    if (!coding.equals("gzip") && !coding.equals("x-gzip")) {
+                        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+                        HttpResponses.sendError(exchange, 415, "Unsupported Content-Encoding: " + encoding);
+                        return;
+                    }
+                    exchange.setStreams(new GzipRequestBody(exchange.getRequestBody()), null);
+                }
+                exchange.getResponseHeaders().add("Vary", "Accept-Encoding");
+                // Exchange attributes live on the shared context in some JDKs, so the verdict travels with the stream
+                if (acceptsGzip(exchange.getRequestHeaders().getFirst("Accept-Encoding"))) {
+                    exchange.setStreams(null, new GzipAccepted(exchange.getResponseBody(), threshold));
+                }
+                chain.doFilter(exchange);
+            }
+
+            @Override
+            public String description() {
+                return "Decodes gzip request bodies and negotiates gzip responses";
+            }
+        };
+    }
+
+    // Sends the response headers once the body is known to be small (fixed length, uncompressed) or has grown
+    // past the threshold (chunked, gzip). Closing the stream completes the exchange.
+    static OutputStream body(HttpExchange exchange, int status) {
+        OutputStream raw = exchange.getResponseBody();
+        return new ResponseBody(exchange, status, raw instanceof GzipAccepted ? ((GzipAccepted) raw).threshold : -1);
+    }
+
+    // For bodies already in memory: uncompressed ones keep their fixed Content-Length
+    static void send(HttpExchange exchange, int status, byte[] bytes) throws IOException {
+        OutputStream raw = exchange.getResponseBody();
+        if (!(raw instanceof GzipAccepted) || bytes.length <= ((GzipAccepted) raw).threshold) {
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            try (OutputStream os = raw) {
+                os.write(bytes);
+            }
+            return;
+        }
+        try (OutputStream os = body(exchange, status)) {
+            os.write(bytes);
+        }
+    }
+
+    // gzip is acceptable unless the header leaves it out or gives it q=0; "*" covers it too
+    static boolean acceptsGzip(String header) {
+        if (header == null) {
+            return false;
+        }
+        boolean wildcard = false;
+        for (String part : header.split(",")) {
+            String[] pieces = part.split(";");
+            String coding = pieces[0].trim().toLowerCase(Locale.ROOT);
+            boolean allowed = true;
+            for (int i = 1; i < pieces.length; i++) {
+                String parameter = pieces[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        allowed = Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        allowed = false;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                return allowed;
+            }
+            if (coding.equals("*")) {
+                wildcard = allowed;
+            }
+        }
+        return wildcard;
+    }
+
+    // Pass-through marker for responses the client lets us compress
+    private static final class GzipAccepted extends FilterOutputStream {
+        final int threshold;
+
+        GzipAccepted(OutputStream out, int threshold) {
+            super(out);
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+    }
+
+    private static final class ResponseBody extends OutputStream {
+        private final HttpExchange exchange;
+        private final int status;
+        // Negative when the client does not take gzip
+        private final int threshold;
+        private byte[] pending;
+        private int count;
+        private OutputStream out;
+
+        ResponseBody(HttpExchange exchange, int status, int threshold) {
+            this.exchange = exchange;
+            this.status = status;
+            this.threshold = threshold;
+            this.pending = new byte[threshold < 0 ? 0 : Math.min(threshold, BUFFER_SIZE)];
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null) {
+                if (threshold >= 0 && (long) count + len <= threshold) {
+                    buffer(b, off, len);
+                    return;
+                }
+                open(threshold >= 0);
+            }
+            out.write(b, off, len);
+        }
+
+        // Before the headers are sent there is nothing to flush to
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (out == null) {
+                exchange.sendResponseHeaders(status, count == 0 ? -1 : count);
+                out = exchange.getResponseBody();
+                out.write(pending, 0, count);
+            }
+            out.close();
+        }
+
+        private void buffer(byte[] b, int off, int len) {
+            if (count + len > pending.length) {
+                byte[] grown = new byte[Math.min(threshold, Math.max(pending.length * 2, count + len))];
+                System.arraycopy(pending, 0, grown, 0, count);
+                pending = grown;
+            }
+            System.arraycopy(b, off, pending, count, len);
+            count += len;
+        }
+
+        private void open(boolean gzip) throws IOException {
+            if (gzip) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                // The compressed bytes differ from the identity representation, so its tag can only be weak
+                String etag = exchange.getResponseHeaders().getFirst("ETag");
+                if (etag != null && !etag.startsWith("W/")) {
+                    exchange.getResponseHeaders().set("ETag", "W/" + etag);
+                }
+            }
+            exchange.sendResponseHeaders(status, 0);
+            out = exchange.getResponseBody();
+            if (gzip) {
+                // Repetitive JSON rows compress well even at the fastest level, which keeps the CPU cost low
+                out = new GZIPOutputStream(out, BUFFER_SIZE) {
+                    {
+                        def.setLevel(Deflater.BEST_SPEED);
+                    }
+                };
+            }
+            out.write(pending, 0, count);
+            pending = null;
+        }
+    }
+
+    // Inflates lazily so a bad header surfaces while the handler parses, as a 400 like any other malformed body
+    private static final class GzipRequestBody extends InputStream {
+        private final InputStream raw;
+        private InputStream inflated;
+
+        GzipRequestBody(InputStream raw) {
+            this.raw = raw;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            int n = read(one, 0, 1);
+            return n < 0 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                if (inflated == null) {
+                    inflated = new GZIPInputStream(raw, BUFFER_SIZE);
+                }
+                return inflated.read(b, off, len);
+            } catch (ZipException | EOFException ex) {
+                throw new IllegalArgumentException("Invalid gzip request body: " + ex.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (inflated != null) {
+                inflated.close();
+            } else {
+                raw.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package main.http;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+
+final class HttpResponses {
+
+    private HttpResponses() {
+    }
+
+    static void addCorsHeaders(Headers headers) {
+        headers.set("Access-Control-Allow-Origin", "*");
+        headers.set("Access-Control-Allow-Methods", "GET, POST, DELETE, OPTIONS");
+        headers.set("Access-Control-Allow-Headers", "Content-Type, Content-Encoding, If-None-Match");
+        headers.set("Access-Control-Expose-Headers", "ETag, X-Cache, Location");
+        headers.set("Access-Control-Max-Age", "300");
+    }
+
+    static String errorMessage(String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("error", message == null ? "Unknown error" : message);
+        return Json.stringify(error);
+    }
+
+    static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, errorMessage(message));
+    }
+
+    static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        Compression.send(exchange, status, bytes);
+    }
+}
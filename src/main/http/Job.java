@@ -0,0 +1,132 @@
+package main.http;
+
+import java.util.Locale;
+import java.util.concurrent.Future;
+
+import main.CancellableListener;
+
+// One asynchronous schedule run. State changes are guarded by the job's monitor, which also wakes long-polls.
+final class Job {
+
+    enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+
+        String label() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    final String id;
+    final String algorithm;
+    final int processCount;
+    final long submittedAt = System.currentTimeMillis();
+    final CancellableListener control;
+
+    private State state = State.QUEUED;
+    private long startedAt;
+    private long finishedAt;
+    // Monotonic time of completion, for TTL eviction
+    private long finishedNanos;
+    private byte[] result;
+    private String error;
+    private Future<?> future;
+
+    Job(String id, String algorithm, int processCount, CancellableListener control) {
+        this.id = id;
+        this.algorithm = algorithm;
+        this.processCount = processCount;
+        this.control = control;
+    }
+
+    synchronized void attach(Future<?> task) {
+        future = task;
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized long startedAt() {
+        return startedAt;
+    }
+
+    synchronized long finishedAt() {
+        return finishedAt;
+    }
+
+    synchronized long finishedNanos() {
+        return finishedNanos;
+    }
+
+    synchronized byte[] result() {
+        return result;
+    }
+
+    synchronized String error() {
+        return error;
+    }
+
+    // False when the job was cancelled before a worker picked it up
+    synchronized boolean start() {
+        if (state != State.QUEUED) {
+            return false;
+        }
+        state = State.RUNNING;
+        startedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    // Returns false when the job was cancelled while it ran, in which case the body is dropped
+    synchronized boolean succeed(byte[] body) {
+        if (state.isFinished()) {
+            return false;
+        }
+        result = body;
+        finish(State.SUCCEEDED);
+        return true;
+    }
+
+    synchronized void fail(String message) {
+        if (!state.isFinished()) {
+            error = message;
+            finish(State.FAILED);
+        }
+    }
+
+    // Returns false when the job had already finished
+    synchronized boolean cancel() {
+        if (state.isFinished()) {
+            return false;
+        }
+        control.cancel();
+        if (future != null) {
+            future.cancel(false);
+        }
+        finish(State.CANCELLED);
+        return true;
+    }
+
+    // Waits up to the timeout for the job to finish and returns the state it is in then
+    synchronized State await(long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (!state.isFinished()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+            wait(remaining);
+        }
+        return state;
+    }
+
+    private void finish(State finalState) {
+        state = finalState;
+        finishedAt = System.currentTimeMillis();
+        finishedNanos = System.nanoTime();
+        notifyAll();
+    }
+}
@@ -0,0 +1,187 @@
+package main.http;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+// Asynchronous schedule runs:
+//   POST   /api/jobs                  submit a schedule request; answers 202 with the job status
+//   GET    /api/jobs/{id}             job status
+//   GET    /api/jobs/{id}/result      the schedule result once the job succeeded
+//   DELETE /api/jobs/{id}             cancel the job if it is still pending and discard it
+// Both GETs take ?wait=SECONDS to long-poll until the job finishes. A waiting poll holds a request worker, so only
+// maxWaiters polls wait at once; the others get the current state right away and poll again. Jobs are held to the
+// process count and simulated time limits but not to the wall-clock budget: they exist for long runs, and DELETE
+// stops one that runs away.
+public class JobHandler implements HttpHandler {
+
+    private static final String ROOT = "/api/jobs";
+    private static final int MAX_WAIT_SECONDS = 30;
+
+    private final JobStore jobs;
+    private final RequestLimits limits;
+    private final Semaphore waiters;
+
+    public JobHandler(JobStore jobs, RequestLimits limits, int maxWaiters) {
+        this.jobs = jobs;
+        this.limits = limits;
+        this.waiters = new Semaphore(maxWaiters);
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+
+        String method = exchange.getRequestMethod();
+        if ("OPTIONS".equalsIgnoreCase(method)) {
+            HttpResponses.send(exchange, 204, "");
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        String rest = path.length() > ROOT.length() ? path.substring(ROOT.length() + 1) : "";
+        int slash = rest.indexOf('/');
+        String id = slash < 0 ? rest : rest.substring(0, slash);
+        String action = slash < 0 ? "" : rest.substring(slash + 1);
+
+        try {
+            if (id.isEmpty()) {
+                if (!"POST".equalsIgnoreCase(method)) {
+                    HttpResponses.sendError(exchange, 405, "Method not allowed");
+                    return;
+                }
+                submit(exchange);
+                return;
+            }
+
+            Job job = jobs.get(id);
+            if (job == null) {
+                HttpResponses.sendError(exchange, 404, "Unknown job: " + id);
+                return;
+            }
+            String route = method.toUpperCase(Locale.ROOT) + " " + action;
+            switch (route) {
+                case "GET ":
+                    await(exchange, job);
+                    sendStatus(exchange, 200, job);
+                    break;
+                case "GET result":
+                    sendResult(exchange, job, await(exchange, job));
+                    break;
+                case "DELETE ":
+                    jobs.remove(id);
+                    exchange.sendResponseHeaders(204, -1);
+                    exchange.close();
+                    break;
+                default:
+                    if (action.equals("") || action.equals("result")) {
+                        HttpResponses.sendError(exchange, 405, "Method not allowed");
+                    } else {
+                        HttpResponses.sendError(exchange, 404, "Not found");
+                    }
+            }
+        } catch (RequestTooLargeException ex) {
+            HttpResponses.sendError(exchange, 413, ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendError(exchange, 400, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            HttpResponses.sendError(exchange, 503, "Server is shutting down");
+        } catch (Exception ex) {
+            HttpResponses.sendError(exchange, 500, "Unexpected server error");
+            ex.printStackTrace();
+        }
+    }
+
+    // The request is parsed and validated up front, so a bad one is a 400 here rather than a failed job
+    private void submit(HttpExchange exchange) throws IOException {
+        ScheduleRequest request = BinaryFormat.matches(exchange.getRequestHeaders().getFirst("Content-Type"))
+                ? ScheduleRequest.readBinary(exchange.getRequestBody(), exchange.getRequestURI().getRawQuery(),
+                            limits.maxProcesses())
+                : ScheduleRequest.read(exchange.getRequestBody(), true, limits.maxProcesses());
+        limits.check(request.processes);
+        Job job = jobs.submit(request);
+        if (job == null) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            HttpResponses.sendError(exchange, 503, "Too many jobs; try again later");
+            return;
+        }
+        exchange.getResponseHeaders().set("Location", ROOT + "/" + job.id);
+        sendStatus(exchange, 202, job);
+    }
+
+    private Job.State await(HttpExchange exchange, Job job) throws InterruptedException {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith("wait=")) {
+                    int seconds;
+                    try {
+                        seconds = Integer.parseInt(pair.substring(5));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Parameter 'wait' must be an integer");
+                    }
+                    if (seconds < 0) {
+                        throw new IllegalArgumentException("Parameter 'wait' must not be negative");
+                    }
+                    if (seconds == 0 || job.state().isFinished() || !waiters.tryAcquire()) {
+                        return job.state();
+                    }
+                    try {
+                        return job.await(Math.min(seconds, MAX_WAIT_SECONDS) * 1000L);
+                    } finally {
+                        waiters.release();
+                    }
+                }
+            }
+        }
+        return job.state();
+    }
+
+    private static void sendResult(HttpExchange exchange, Job job, Job.State state) throws IOException {
+        switch (state) {
+            case SUCCEEDED:
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                Compression.send(exchange, 200, job.result());
+                break;
+            case FAILED:
+                HttpResponses.sendError(exchange, 422, job.error());
+                break;
+            case CANCELLED:
+                HttpResponses.sendError(exchange, 410, "Job was cancelled");
+                break;
+            default:
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendStatus(exchange, 202, job);
+        }
+    }
+
+    private static void sendStatus(HttpExchange exchange, int status, Job job) throws IOException {
+        Job.State state = job.state();
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (JsonWriter json = new JsonWriter(Compression.body(exchange, status))) {
+            json.beginObject()
+                    .name("id").value(job.id)
+                    .name("status").value(state.label())
+                    .name("algorithm").value(job.algorithm)
+                    .name("processCount").value(job.processCount)
+                    .name("submittedAt").value(job.submittedAt);
+            if (job.startedAt() != 0) {
+                json.name("startedAt").value(job.startedAt());
+            }
+            if (state.isFinished()) {
+                json.name("finishedAt").value(job.finishedAt());
+            }
+            if (state == Job.State.FAILED) {
+                json.name("error").value(job.error());
+            }
+            if (state == Job.State.SUCCEEDED) {
+                json.name("result").value(ROOT + "/" + job.id + "/result");
+            }
+            json.endObject();
+        }
+    }
+}
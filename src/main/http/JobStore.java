@@ -0,0 +1,170 @@
+package main.http;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import main.CancellableListener;
+import main.CoreUsage;
+import main.ProcessTable;
+import main.ScheduleSummary;
+import main.TableScheduler;
+import main.Timeline;
+
+// Asynchronous schedule runs on a fixed pool of job workers. The store holds at most maxJobs jobs, queued, running
+// or finished. Finished jobs are dropped ttl after they finish, and the oldest results go first once the retained
+// result bytes pass their budget. Expired jobs are swept on a timer of their own, since a sweep queued on the
+// workers would wait behind long runs.
+public final class JobStore {
+
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService sweeper;
+    private final int maxJobs;
+    private final long ttlNanos;
+    private final long maxResultBytes;
+    private final ConcurrentHashMap<String, Job> jobs = new ConcurrentHashMap<>();
+    // Guarded by this
+    private long resultBytes;
+
+    public JobStore(int workerCount, int maxJobs, int ttlSeconds, long maxResultBytes) {
+        this.maxJobs = maxJobs;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.maxResultBytes = maxResultBytes;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), task -> {
+                    Thread thread = new Thread(task, "scheduler-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "scheduler-job-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Jobs outlive their ttl by at most a tenth of it, and by a minute for long ttls
+        long period = Math.max(1, Math.min(60, ttlSeconds / 10));
+        sweeper.scheduleWithFixedDelay(this::evictExpired, period, period, TimeUnit.SECONDS);
+    }
+
+    // Validates the request and queues it; returns null when the store is full even after dropping expired jobs
+    synchronized Job submit(ScheduleRequest request) {
+        TableScheduler scheduler = request.scheduler();
+        Timeline timeline = request.newTimeline();
+        ScheduleSummary summary = request.newSummary();
+        CoreUsage usage = summary == null ? request.newCoreUsage() : request.cores == null ? null : summary.usage;
+        if (jobs.size() >= maxJobs) {
+            evictExpired();
+            if (jobs.size() >= maxJobs) {
+                return null;
+            }
+        }
+
+        CancellableListener control = new CancellableListener(
+                summary != null ? summary : request.listener(timeline, usage));
+        Job job = new Job(UUID.randomUUID().toString(), request.algorithm.toUpperCase(Locale.ROOT),
+                request.processes.size(), control);
+        jobs.put(job.id, job);
+        ProcessTable processes = request.processes;
+        job.attach(workers.submit(() -> run(job, scheduler, processes, summary, usage, timeline)));
+        return job;
+    }
+
+    Job get(String id) {
+        Job job = jobs.get(id);
+        if (job != null && isExpired(job, System.nanoTime())) {
+            remove(id);
+            return null;
+        }
+        return job;
+    }
+
+    // Cancels the job if it has not finished and forgets it
+    synchronized boolean remove(String id) {
+        Job job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        if (job.cancel()) {
+            workers.purge();
+        }
+        byte[] result = job.result();
+        if (result != null) {
+            resultBytes -= result.length;
+        }
+        return true;
+    }
+
+    int size() {
+        return jobs.size();
+    }
+
+    private void run(Job job, TableScheduler scheduler, ProcessTable processes, ScheduleSummary summary,
+            CoreUsage usage, Timeline timeline) {
+        if (!job.start()) {
+            return;
+        }
+        try {
+            scheduler.schedule(processes, job.control);
+            if (summary != null) {
+                summary.record(processes);
+            }
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            ScheduleHandler.writeJson(body, processes, summary, usage, timeline);
+            retain(job, body.toByteArray());
+        } catch (CancellationException ex) {
+            // The job is already marked cancelled
+        } catch (IllegalArgumentException ex) {
+            job.fail(ex.getMessage());
+        } catch (Exception ex) {
+            job.fail("Unexpected server error");
+            ex.printStackTrace();
+        }
+    }
+
+    // Completes the job unless it was cancelled meanwhile, then evicts the oldest other results until this one
+    // fits the budget or nothing else is left
+    private synchronized void retain(Job job, byte[] result) {
+        if (!job.succeed(result)) {
+            return;
+        }
+        resultBytes += result.length;
+        while (resultBytes > maxResultBytes) {
+            Job oldest = null;
+            for (Job candidate : jobs.values()) {
+                if (candidate != job && candidate.result() != null
+                        && (oldest == null || candidate.finishedNanos() - oldest.finishedNanos() < 0)) {
+                    oldest = candidate;
+                }
+            }
+            if (oldest == null) {
+                break;
+            }
+            remove(oldest.id);
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Job> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            Job job = it.next();
+            if (isExpired(job, now)) {
+                remove(job.id);
+            }
+        }
+    }
+
+    private boolean isExpired(Job job, long now) {
+        return job.state().isFinished() && now - job.finishedNanos() > ttlNanos;
+    }
+}
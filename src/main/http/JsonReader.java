@@ -0,0 +1,418 @@
+package main.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Pull parser over the raw request bytes; values are handed out one at a time instead of as a tree
+final class JsonReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream input;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    // Object keys repeat on every row, so recently seen ones are handed out again instead of decoded
+    private final String[] recentNames = new String[16];
+    private final byte[][] recentNameBytes = new byte[16][];
+    private byte[] text = new byte[64];
+    private int textLength;
+    private int limit;
+    private int offset;
+    private long position;
+    private boolean[] needsComma = new boolean[16];
+    private int depth;
+
+    JsonReader(InputStream input) {
+        this.input = input;
+    }
+
+    // First byte of the next token without consuming it, or -1 at the end of the input
+    int peek() throws IOException {
+        skipWhitespace();
+        return peekByte();
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+        push();
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+        depth--;
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+        push();
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+        depth--;
+    }
+
+    // Must be called once before every element; it consumes the separating comma
+    boolean hasNext() throws IOException {
+        int ch = peek();
+        if (ch == '}' || ch == ']') {
+            return false;
+        }
+        if (needsComma[depth - 1]) {
+            expect(',');
+        }
+        needsComma[depth - 1] = true;
+        return true;
+    }
+
+    String nextName() throws IOException {
+        String name = cachedName();
+        if (name == null) {
+            name = nextString();
+        }
+        expect(':');
+        return name;
+    }
+
+    private String cachedName() throws IOException {
+        skipWhitespace();
+        if (peekByte() != '"') {
+            return null;
+        }
+        int start = offset + 1;
+        int end = start;
+        while (end < limit && buffer[end] != '"' && buffer[end] != '\\') {
+            end++;
+        }
+        if (end >= limit || buffer[end] != '"') {
+            return null;
+        }
+        int length = end - start;
+        int slot = (length * 31 + (length > 0 ? buffer[start] : 0)) & (recentNames.length - 1);
+        byte[] known = recentNameBytes[slot];
+        if (known == null || known.length != length || !Arrays.equals(known, 0, length, buffer, start, end)) {
+            known = Arrays.copyOfRange(buffer, start, end);
+            recentNameBytes[slot] = known;
+            recentNames[slot] = new String(known, StandardCharsets.UTF_8);
+        }
+        position += end + 1 - offset;
+        offset = end + 1;
+        return recentNames[slot];
+    }
+
+    String nextString() throws IOException {
+        expect('"');
+        // Fast path: the whole literal is already buffered and has no escapes
+        for (int i = offset; i < limit; i++) {
+            byte ch = buffer[i];
+            if (ch == '"') {
+                String value = new String(buffer, offset, i - offset, StandardCharsets.UTF_8);
+                position += i + 1 - offset;
+                offset = i + 1;
+                return value;
+            }
+            if (ch == '\\') {
+                break;
+            }
+        }
+        textLength = 0;
+        while (true) {
+            int ch = read();
+            if (ch < 0) {
+                throw new IllegalArgumentException("Unterminated string literal");
+            }
+            if (ch == '"') {
+                return new String(text, 0, textLength, StandardCharsets.UTF_8);
+            }
+            if (ch != '\\') {
+                append(ch);
+                continue;
+            }
+            int esc = read();
+            switch (esc) {
+                case '"':
+                case '\\':
+                case '/':
+                    append(esc);
+                    break;
+                case 'b':
+                    append('\b');
+                    break;
+                case 'f':
+                    append('\f');
+                    break;
+                case 'n':
+                    append('\n');
+                    break;
+                case 'r':
+                    append('\r');
+                    break;
+                case 't':
+                    append('\t');
+                    break;
+                case 'u':
+                    for (byte b : String.valueOf(readUnicode()).getBytes(StandardCharsets.UTF_8)) {
+                        append(b);
+                    }
+                    break;
+                case -1:
+                    throw new IllegalArgumentException("Unterminated escape sequence");
+                default:
+                    throw new IllegalArgumentException("Unsupported escape sequence \\" + (char) esc);
+            }
+        }
+    }
+
+    boolean nextBoolean() throws IOException {
+        if (peek() == 't') {
+            keyword("true");
+            return true;
+        }
+        keyword("false");
+        return false;
+    }
+
+    void nextNull() throws IOException {
+        keyword("null");
+    }
+
+    // Narrows the number the same way Number.intValue() narrows the Long or Double Json.parse yields
+    int nextInt() throws IOException {
+        skipWhitespace();
+        long start = position;
+        boolean negative = peekByte() == '-';
+        if (negative) {
+            read();
+        }
+        long value = 0;
+        int digits = 0;
+        boolean overflow = false;
+        int ch;
+        while ((ch = peekByte()) >= '0' && ch <= '9') {
+            read();
+            if (digits == 1 && value == 0) {
+                throw new IllegalArgumentException("Invalid number at position " + start);
+            }
+            overflow |= value > (Long.MAX_VALUE - (ch - '0')) / 10;
+            value = value * 10 + (ch - '0');
+            digits++;
+        }
+        if (digits == 0) {
+            throw new IllegalArgumentException("Invalid number at position " + position);
+        }
+        if (overflow) {
+            throw new IllegalArgumentException("Number out of range at position " + start);
+        }
+        if (ch != '.' && ch != 'e' && ch != 'E') {
+            return (int) (negative ? -value : value);
+        }
+
+        textLength = 0;
+        for (byte b : Long.toString(negative ? -value : value).getBytes(StandardCharsets.US_ASCII)) {
+            append(b);
+        }
+        if (ch == '.') {
+            append(read());
+            requireDigit();
+            copyDigits();
+            ch = peekByte();
+        }
+        if (ch == 'e' || ch == 'E') {
+            append(read());
+            ch = peekByte();
+            if (ch == '+' || ch == '-') {
+                append(read());
+            }
+            if (!isDigit(peekByte())) {
+                throw new IllegalArgumentException("Invalid exponent at position " + position);
+            }
+            copyDigits();
+        }
+        return (int) Double.parseDouble(new String(text, 0, textLength, StandardCharsets.US_ASCII));
+    }
+
+    double nextDouble() throws IOException {
+        skipWhitespace();
+        long start = position;
+        textLength = 0;
+        if (peekByte() == '-') {
+            append(read());
+        }
+        requireDigit();
+        if (peekByte() == '0') {
+            append(read());
+            if (isDigit(peekByte())) {
+                throw new IllegalArgumentException("Invalid number at position " + start);
+            }
+        } else {
+            copyDigits();
+        }
+        int ch = peekByte();
+        if (ch == '.') {
+            append(read());
+            requireDigit();
+            copyDigits();
+            ch = peekByte();
+        }
+        if (ch == 'e' || ch == 'E') {
+            append(read());
+            ch = peekByte();
+            if (ch == '+' || ch == '-') {
+                append(read());
+            }
+            if (!isDigit(peekByte())) {
+                throw new IllegalArgumentException("Invalid exponent at position " + position);
+            }
+            copyDigits();
+        }
+        return Double.parseDouble(new String(text, 0, textLength, StandardCharsets.US_ASCII));
+    }
+
+    void skipValue() throws IOException {
+        int ch = peek();
+        switch (ch) {
+            case '{':
+                beginObject();
+                while (hasNext()) {
+                    nextName();
+                    skipValue();
+                }
+                endObject();
+                break;
+            case '[':
+                beginArray();
+                while (hasNext()) {
+                    skipValue();
+                }
+                endArray();
+                break;
+            case '"':
+                nextString();
+                break;
+            case 't':
+            case 'f':
+                nextBoolean();
+                break;
+            case 'n':
+                nextNull();
+                break;
+            default:
+                if (ch == '-' || isDigit(ch)) {
+                    nextInt();
+                    break;
+                }
+                throw unexpected(ch);
+        }
+    }
+
+    void endDocument() throws IOException {
+        if (peek() >= 0) {
+            throw new IllegalArgumentException("Unexpected trailing content in JSON");
+        }
+    }
+
+    IllegalArgumentException unexpected(int ch) {
+        if (ch < 0) {
+            return new IllegalArgumentException("Unexpected end of JSON input");
+        }
+        return new IllegalArgumentException("Unexpected character '" + (char) ch + "' at position " + position);
+    }
+
+    private void append(int b) {
+        if (textLength == text.length) {
+            text = Arrays.copyOf(text, textLength * 2);
+        }
+        text[textLength++] = (byte) b;
+    }
+
+    private void push() {
+        if (depth == needsComma.length) {
+            needsComma = Arrays.copyOf(needsComma, depth * 2);
+        }
+        needsComma[depth++] = false;
+    }
+
+    private void expect(char expected) throws IOException {
+        skipWhitespace();
+        if (peekByte() != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at position " + position);
+        }
+        read();
+    }
+
+    private void keyword(String keyword) throws IOException {
+        skipWhitespace();
+        long start = position;
+        for (int i = 0; i < keyword.length(); i++) {
+            if (read() != keyword.charAt(i)) {
+                throw new IllegalArgumentException("Invalid " + (keyword.charAt(0) == 'n' ? "null" : "boolean")
+                        + " value at position " + start);
+            }
+        }
+    }
+
+    private char readUnicode() throws IOException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            int digit = Character.digit(read(), 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid unicode escape sequence");
+            }
+            value = (value << 4) | digit;
+        }
+        return (char) value;
+    }
+
+    private void requireDigit() throws IOException {
+        if (!isDigit(peekByte())) {
+            throw new IllegalArgumentException("Invalid number at position " + position);
+        }
+    }
+
+    private void copyDigits() throws IOException {
+        while (isDigit(peekByte())) {
+            append(read());
+        }
+    }
+
+    private static boolean isDigit(int ch) {
+        return ch >= '0' && ch <= '9';
+    }
+
+    private void skipWhitespace() throws IOException {
+        while (fill()) {
+            byte ch = buffer[offset];
+            if (ch != ' ' && ch != '\n' && ch != '\r' && ch != '\t') {
+                return;
+            }
+            offset++;
+            position++;
+        }
+    }
+
+    private int peekByte() throws IOException {
+        return fill() ? buffer[offset] & 0xff : -1;
+    }
+
+    private int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        position++;
+        return buffer[offset++] & 0xff;
+    }
+
+    private boolean fill() throws IOException {
+        if (offset < limit) {
+            return true;
+        }
+        int n = input.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            return false;
+        }
+        offset = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+package main.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Streams JSON through a small byte buffer straight into the response body
+final class JsonWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte[] MIN_INT = Integer.toString(Integer.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    private final OutputStream output;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int count;
+    private boolean[] hasElements = new boolean[16];
+    private int depth;
+    private boolean afterName;
+    // Field names repeat on every row, so their encoded form is kept around
+    private final Map<String, byte[]> encodedNames = new HashMap<>();
+
+    JsonWriter(OutputStream output) {
+        this.output = output;
+    }
+
+    JsonWriter beginObject() throws IOException {
+        beforeValue();
+        write('{');
+        push();
+        return this;
+    }
+
+    JsonWriter endObject() throws IOException {
+        depth--;
+        write('}');
+        return this;
+    }
+
+    JsonWriter beginArray() throws IOException {
+        beforeValue();
+        write('[');
+        push();
+        return this;
+    }
+
+    JsonWriter endArray() throws IOException {
+        depth--;
+        write(']');
+        return this;
+    }
+
+    JsonWriter name(String name) throws IOException {
+        beforeValue();
+        byte[] encoded = encodedNames.get(name);
+        if (encoded == null) {
+            encoded = encodeName(name);
+            encodedNames.put(name, encoded);
+        }
+        writeBytes(encoded);
+        afterName = true;
+        return this;
+    }
+
+    JsonWriter value(int value) throws IOException {
+        beforeValue();
+        writeInt(value);
+        return this;
+    }
+
+    JsonWriter value(long value) throws IOException {
+        if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+            return value((int) value);
+        }
+        beforeValue();
+        writeAscii(Long.toString(value));
+        return this;
+    }
+
+    JsonWriter value(double value) throws IOException {
+        beforeValue();
+        writeAscii(String.valueOf(value));
+        return this;
+    }
+
+    JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        writeAscii(value ? "true" : "false");
+        return this;
+    }
+
+    JsonWriter nullValue() throws IOException {
+        beforeValue();
+        writeAscii("null");
+        return this;
+    }
+
+    JsonWriter value(String value) throws IOException {
+        beforeValue();
+        if (value == null) {
+            writeAscii("null");
+        } else {
+            writeString(value);
+        }
+        return this;
+    }
+
+    // Writes ASCII text verbatim between top-level values, e.g. event-stream framing around JSON payloads
+    JsonWriter raw(String text) throws IOException {
+        writeAscii(text);
+        return this;
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            output.close();
+        }
+    }
+
+    private void beforeValue() throws IOException {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        if (depth > 0) {
+            if (hasElements[depth - 1]) {
+                write(',');
+            }
+            hasElements[depth - 1] = true;
+        }
+    }
+
+    private void push() {
+        if (depth == hasElements.length) {
+            hasElements = Arrays.copyOf(hasElements, depth * 2);
+        }
+        hasElements[depth++] = false;
+    }
+
+    private static byte[] encodeName(String name) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(bytes);
+        writer.writeString(name);
+        writer.write(':');
+        writer.flushBuffer();
+        return bytes.toByteArray();
+    }
+
+    private void writeInt(int value) throws IOException {
+        if (value == Integer.MIN_VALUE) {
+            writeBytes(MIN_INT);
+            return;
+        }
+        ensure(11);
+        if (value < 0) {
+            buffer[count++] = '-';
+            value = -value;
+        }
+        int end = count + digits(value);
+        int pos = end;
+        do {
+            buffer[--pos] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        count = end;
+    }
+
+    private static int digits(int value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void writeString(String value) throws IOException {
+        write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            switch (ch) {
+                case '"':
+                    writeAscii("\\\"");
+                    break;
+                case '\\':
+                    writeAscii("\\\\");
+                    break;
+                case '\b':
+                    writeAscii("\\b");
+                    break;
+                case '\f':
+                    writeAscii("\\f");
+                    break;
+                case '\n':
+                    writeAscii("\\n");
+                    break;
+                case '\r':
+                    writeAscii("\\r");
+                    break;
+                case '\t':
+                    writeAscii("\\t");
+                    break;
+                default:
+                    if (ch < 0x20) {
+                        writeAscii(String.format("\\u%04x", (int) ch));
+                    } else if (ch < 0x80) {
+                        write(ch);
+                    } else {
+                        int end = i + 1;
+                        while (end < value.length() && value.charAt(end) >= 0x80) {
+                            end++;
+                        }
+                        writeBytes(value.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                        i = end - 1;
+                    }
+            }
+        }
+        write('"');
+    }
+
+    private void writeAscii(String text) throws IOException {
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[count++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        if (bytes.length > buffer.length) {
+            flushBuffer();
+            output.write(bytes);
+            return;
+        }
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void write(char ch) throws IOException {
+        ensure(1);
+        buffer[count++] = (byte) ch;
+    }
+
+    private void ensure(int length) throws IOException {
+        if (count + length > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            output.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
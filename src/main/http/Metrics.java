@@ -0,0 +1,205 @@
+package main.http;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpExchange;
+
+// Request counters and latency histograms, rendered in the Prometheus text format
+public final class Metrics {
+
+    public enum Phase {
+        READ, PARSE, SCHEDULE, SERIALIZE, WRITE
+    }
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+    private static final String UNKNOWN_ALGORITHM = "unknown";
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = THREADS instanceof com.sun.management.ThreadMXBean
+            && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported()
+            && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemoryEnabled();
+
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final Histogram processCounts = new Histogram();
+    private final Map<String, Histogram[]> phases = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> allocations = new ConcurrentHashMap<>();
+
+    public Filter filter() {
+        return new Filter() {
+            @Override
+            public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+                inFlight.incrementAndGet();
+                try {
+                    chain.doFilter(exchange);
+                } finally {
+                    inFlight.decrementAndGet();
+                    int status = exchange.getResponseCode();
+                    String path = exchange.getHttpContext().getPath();
+                    String key = "path=\"" + path + "\",status=\"" + (status < 0 ? "none" : String.valueOf(status)) + '"';
+                    counter(requests, key).increment();
+                    if (status < 0 || status >= 400) {
+                        counter(errors, "path=\"" + path + '"').increment();
+                    }
+                }
+            }
+
+            @Override
+            public String description() {
+                return "Counts requests and errors per context";
+            }
+        };
+    }
+
+    void recordProcessCount(int count) {
+        processCounts.record(count);
+    }
+
+    // Callers pass a validated algorithm id (or null), which keeps the label set small
+    void recordPhase(String algorithm, Phase phase, long nanos) {
+        String label = algorithm == null ? UNKNOWN_ALGORITHM : algorithm;
+        Histogram[] histograms = phases.get(label);
+        if (histograms == null) {
+            histograms = phases.computeIfAbsent(label, k -> newPhaseHistograms());
+        }
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    // Heap bytes the current thread has allocated so far, or -1 when the JVM cannot tell
+    static long threadAllocatedBytes() {
+        if (!ALLOCATION_SUPPORTED) {
+            return -1;
+        }
+        return ((com.sun.management.ThreadMXBean) THREADS).getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    // Takes the threadAllocatedBytes() reading from before the work being measured
+    void recordAllocation(String algorithm, long before) {
+        if (before < 0) {
+            return;
+        }
+        String label = algorithm == null ? UNKNOWN_ALGORITHM : algorithm;
+        Histogram histogram = allocations.get(label);
+        if (histogram == null) {
+            histogram = allocations.computeIfAbsent(label, k -> new Histogram());
+        }
+        histogram.record(threadAllocatedBytes() - before);
+    }
+
+    private static Histogram[] newPhaseHistograms() {
+        Histogram[] histograms = new Histogram[Phase.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new Histogram();
+        }
+        return histograms;
+    }
+
+    public String render(ResultCache cache) {
+        StringBuilder out = new StringBuilder();
+
+        header(out, "scheduler_http_requests_total", "counter", "Requests handled, by context path and response status.");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(requests).entrySet()) {
+            sample(out, "scheduler_http_requests_total", entry.getKey(), entry.getValue().sum());
+        }
+        header(out, "scheduler_http_errors_total", "counter", "Requests answered with a 4xx/5xx status or aborted.");
+        for (Map.Entry<String, LongAdder> entry : new TreeMap<>(errors).entrySet()) {
+            sample(out, "scheduler_http_errors_total", entry.getKey(), entry.getValue().sum());
+        }
+        header(out, "scheduler_http_requests_in_flight", "gauge", "Requests currently being handled.");
+        sample(out, "scheduler_http_requests_in_flight", null, inFlight.get());
+
+        header(out, "scheduler_request_processes", "summary", "Processes per schedule request.");
+        summary(out, "scheduler_request_processes", null, processCounts, 1);
+        header(out, "scheduler_request_processes_max", "gauge", "Largest process count seen in one request.");
+        sample(out, "scheduler_request_processes_max", null, processCounts.max());
+
+        header(out, "scheduler_phase_duration_seconds", "summary",
+                "Time per request phase and algorithm: read, parse, schedule, serialize, write.");
+        Map<String, Histogram[]> sortedPhases = new TreeMap<>(phases);
+        for (Map.Entry<String, Histogram[]> entry : sortedPhases.entrySet()) {
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = entry.getValue()[phase.ordinal()];
+                if (histogram.count() > 0) {
+                    summary(out, "scheduler_phase_duration_seconds", phaseLabels(entry.getKey(), phase), histogram, 1e9);
+                }
+            }
+        }
+        header(out, "scheduler_phase_duration_seconds_max", "gauge", "Slowest observed duration per phase and algorithm.");
+        for (Map.Entry<String, Histogram[]> entry : sortedPhases.entrySet()) {
+            for (Phase phase : Phase.values()) {
+                Histogram histogram = entry.getValue()[phase.ordinal()];
+                if (histogram.count() > 0) {
+                    sample(out, "scheduler_phase_duration_seconds_max", phaseLabels(entry.getKey(), phase), histogram.max() / 1e9);
+                }
+            }
+        }
+
+        header(out, "scheduler_schedule_allocated_bytes", "summary",
+                "Heap bytes allocated while scheduling one request, beyond its input and output, by algorithm.");
+        for (Map.Entry<String, Histogram> entry : new TreeMap<>(allocations).entrySet()) {
+            summary(out, "scheduler_schedule_allocated_bytes", "algorithm=\"" + entry.getKey() + '"', entry.getValue(), 1);
+        }
+
+        if (cache != null) {
+            Map<String, Object> stats = cache.stats();
+            header(out, "scheduler_cache_entries", "gauge", "Responses held in the result cache.");
+            sample(out, "scheduler_cache_entries", null, ((Number) stats.get("entries")).doubleValue());
+            header(out, "scheduler_cache_bytes", "gauge", "Bytes held in the result cache.");
+            sample(out, "scheduler_cache_bytes", null, ((Number) stats.get("bytes")).doubleValue());
+            for (String name : new String[] {"hits", "misses", "evictions", "notModified"}) {
+                String metric = "scheduler_cache_" + name.replace("notModified", "not_modified") + "_total";
+                header(out, metric, "counter", "Result cache " + name + ".");
+                sample(out, metric, null, ((Number) stats.get(name)).doubleValue());
+            }
+        }
+        return out.toString();
+    }
+
+    private static String phaseLabels(String algorithm, Phase phase) {
+        return "algorithm=\"" + algorithm + "\",phase=\"" + phase.name().toLowerCase(Locale.ROOT) + '"';
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    // Values are divided by unit, e.g. 1e9 to report nanoseconds as seconds
+    private static void summary(StringBuilder out, String name, String labels, Histogram histogram, double unit) {
+        long[] values = histogram.quantiles(QUANTILES);
+        for (int i = 0; i < QUANTILES.length; i++) {
+            String quantile = "quantile=\"" + QUANTILES[i] + '"';
+            sample(out, name, labels == null ? quantile : labels + ',' + quantile, values[i] / unit);
+        }
+        sample(out, name + "_sum", labels, histogram.sum() / unit);
+        sample(out, name + "_count", labels, histogram.count());
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, double value) {
+        out.append(name);
+        if (labels != null) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            out.append((long) value);
+        } else {
+            out.append(value);
+        }
+        out.append('\n');
+    }
+}
@@ -0,0 +1,30 @@
+package main.http;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+public class MetricsHandler implements HttpHandler {
+
+    private final Metrics metrics;
+    private final ResultCache cache;
+
+    public MetricsHandler(Metrics metrics, ResultCache cache) {
+        this.metrics = metrics;
+        this.cache = cache;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+        if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+        byte[] bytes = metrics.render(cache).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        Compression.send(exchange, 200, bytes);
+    }
+}
@@ -0,0 +1,253 @@
+package main.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import main.BudgetExceededException;
+import main.CancellableListener;
+import main.ContextSwitches;
+import main.ProcessTable;
+import main.SchedulerFactory;
+import main.TableScheduler;
+
+// Tries a range of time quanta on one workload in parallel and picks the best one for the requested objective
+public class QuantumSweepHandler implements HttpHandler {
+
+    static final int MAX_CANDIDATES = 1000;
+    // Candidates tried when the request gives a range without a step
+    private static final int DEFAULT_CANDIDATES = 100;
+
+    private enum Objective {
+        WAITING_TIME("waitingTime"),
+        TURNAROUND_TIME("turnaroundTime"),
+        RESPONSE_TIME("responseTime"),
+        CONTEXT_SWITCHES("contextSwitches");
+
+        final String id;
+
+        Objective(String id) {
+            this.id = id;
+        }
+
+        static Objective parse(String value) {
+            if (value == null) {
+                return WAITING_TIME;
+            }
+            for (Objective objective : values()) {
+                if (objective.id.equalsIgnoreCase(value)) {
+                    return objective;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported objective: " + value);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private final RequestLimits limits;
+
+    public QuantumSweepHandler(ForkJoinPool pool, RequestLimits limits) {
+        this.pool = pool;
+        this.limits = limits;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+
+        String method = exchange.getRequestMethod();
+        if ("OPTIONS".equalsIgnoreCase(method)) {
+            HttpResponses.send(exchange, 204, "");
+            return;
+        }
+
+        if (!"POST".equalsIgnoreCase(method)) {
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+
+        String algorithm;
+        Objective objective;
+        List<Candidate> candidates = new ArrayList<>();
+        long started = System.nanoTime();
+        try {
+            ScheduleRequest request = ScheduleRequest.read(exchange.getRequestBody(), true, limits.maxProcesses());
+            limits.check(request.processes);
+            algorithm = request.algorithm == null ? "RR" : request.algorithm.toUpperCase(Locale.ROOT);
+            if (!SchedulerFactory.usesTimeQuantum(algorithm)) {
+                throw new IllegalArgumentException("Quantum sweeps need an algorithm with a time quantum (RR or MLFQ)");
+            }
+            // Explicit level quanta replace the swept quantum, so every candidate would be the same run
+            if ("MLFQ".equals(algorithm) && request.levelQuanta != null && !request.levelQuanta.isEmpty()) {
+                throw new IllegalArgumentException("Quantum sweeps cannot use MLFQ 'levelQuanta'");
+            }
+            objective = Objective.parse(request.objective);
+            // Sorted once here, so every candidate's copy is already in arrival order
+            request.processes.sortByArrival();
+            for (int quantum : quanta(request)) {
+                candidates.add(new Candidate(quantum, request.scheduler(algorithm, quantum), request, limits, started));
+            }
+            List<ForkJoinTask<Candidate>> tasks = new ArrayList<>();
+            for (Candidate candidate : candidates) {
+                tasks.add(pool.submit(candidate::execute));
+            }
+            for (ForkJoinTask<Candidate> task : tasks) {
+                try {
+                    task.join();
+                } catch (RuntimeException ex) {
+                    // As for comparisons: queued candidates are dropped and running ones stop at their next slice
+                    for (int i = 0; i < tasks.size(); i++) {
+                        tasks.get(i).cancel(false);
+                        candidates.get(i).listener.cancel();
+                    }
+                    throw ex;
+                }
+            }
+        } catch (RequestTooLargeException ex) {
+            HttpResponses.sendError(exchange, 413, ex.getMessage());
+            return;
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendError(exchange, 400, ex.getMessage());
+            return;
+        } catch (BudgetExceededException ex) {
+            HttpResponses.sendError(exchange, 503, ex.getMessage());
+            return;
+        } catch (Exception ex) {
+            HttpResponses.sendError(exchange, 500, "Unexpected server error");
+            ex.printStackTrace();
+            return;
+        }
+
+        // Ties go to the candidate listed first
+        Candidate best = null;
+        for (Candidate candidate : candidates) {
+            if (best == null || candidate.score(objective) < best.score(objective)) {
+                best = candidate;
+            }
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (JsonWriter json = new JsonWriter(Compression.body(exchange, 200))) {
+            json.beginObject()
+                    .name("algorithm").value(algorithm)
+                    .name("objective").value(objective.id)
+                    .name("bestTimeQuantum").value(best.quantum);
+            json.name("results").beginArray();
+            for (Candidate candidate : candidates) {
+                json.beginObject()
+                        .name("timeQuantum").value(candidate.quantum)
+                        .name("averageWaitingTime").value(ResultWriter.round(candidate.averageWaiting))
+                        .name("averageTurnaroundTime").value(ResultWriter.round(candidate.averageTurnaround))
+                        .name("averageResponseTime").value(ResultWriter.round(candidate.averageResponse))
+                        .name("contextSwitches").value(candidate.contextSwitches)
+                        .name("wallTimeMs").value(ResultWriter.round(candidate.wallTimeNanos / 1_000_000.0))
+                        .endObject();
+            }
+            json.endArray().endObject();
+        }
+    }
+
+    // Explicit timeQuanta win; otherwise minQuantum..maxQuantum, where the range defaults to 1 up to the longest
+    // burst (beyond which Round Robin behaves like FCFS) in at most DEFAULT_CANDIDATES steps
+    private static List<Integer> quanta(ScheduleRequest request) {
+        List<Integer> quanta = new ArrayList<>();
+        if (request.timeQuanta != null && !request.timeQuanta.isEmpty()) {
+            for (Integer quantum : request.timeQuanta) {
+                if (quantum == null) {
+                    throw new IllegalArgumentException("Time quanta must not be null");
+                }
+                quanta.add(quantum);
+            }
+        } else {
+            int longestBurst = 1;
+            for (int i = 0; i < request.processes.size(); i++) {
+                longestBurst = Math.max(longestBurst, request.processes.burstTime[i]);
+            }
+            int min = request.minQuantum == null ? 1 : request.minQuantum;
+            int max = request.maxQuantum == null ? Math.max(min, longestBurst) : request.maxQuantum;
+            if (min <= 0 || max < min) {
+                throw new IllegalArgumentException("Quantum range needs 0 < minQuantum <= maxQuantum");
+            }
+            long span = (long) max - min;
+            long step = request.quantumStep == null
+                    ? Math.max(1, (span + DEFAULT_CANDIDATES - 2) / (DEFAULT_CANDIDATES - 1))
+                    : request.quantumStep;
+            if (step <= 0) {
+                throw new IllegalArgumentException("Field 'quantumStep' must be greater than zero");
+            }
+            if (span / step + 1 > MAX_CANDIDATES) {
+                throw new IllegalArgumentException("At most " + MAX_CANDIDATES + " quanta per sweep; raise quantumStep");
+            }
+            for (long quantum = min; quantum <= max; quantum += step) {
+                quanta.add((int) quantum);
+            }
+        }
+        if (quanta.size() > MAX_CANDIDATES) {
+            throw new IllegalArgumentException("At most " + MAX_CANDIDATES + " quanta per sweep");
+        }
+        return quanta;
+    }
+
+    private static final class Candidate {
+        final int quantum;
+        final TableScheduler scheduler;
+        final ProcessTable input;
+        final ContextSwitches switches;
+        final CancellableListener listener;
+        double averageWaiting;
+        double averageTurnaround;
+        double averageResponse;
+        long contextSwitches;
+        long wallTimeNanos;
+
+        Candidate(int quantum, TableScheduler scheduler, ScheduleRequest request, RequestLimits limits, long started) {
+            this.quantum = quantum;
+            this.scheduler = scheduler;
+            this.input = request.processes;
+            this.switches = new ContextSwitches(request.cores == null ? 1 : request.cores);
+            this.listener = new CancellableListener(limits.guard(switches, started));
+        }
+
+        // Only the averages are kept, so each copy can be dropped as soon as its run is done
+        Candidate execute() {
+            long start = System.nanoTime();
+            ProcessTable table = input.copy();
+            scheduler.schedule(table, listener);
+            long waiting = 0;
+            long turnaround = 0;
+            long response = 0;
+            int count = table.size();
+            for (int i = 0; i < count; i++) {
+                waiting += table.waitingTime[i];
+                turnaround += table.turnaroundTime[i];
+                response += table.startTime[i] - table.arrivalTime[i];
+            }
+            wallTimeNanos = System.nanoTime() - start;
+            averageWaiting = count == 0 ? 0 : (double) waiting / count;
+            averageTurnaround = count == 0 ? 0 : (double) turnaround / count;
+            averageResponse = count == 0 ? 0 : (double) response / count;
+            contextSwitches = switches.count();
+            return this;
+        }
+
+        double score(Objective objective) {
+            switch (objective) {
+                case TURNAROUND_TIME:
+                    return averageTurnaround;
+                case RESPONSE_TIME:
+                    return averageResponse;
+                case CONTEXT_SWITCHES:
+                    return contextSwitches;
+                case WAITING_TIME:
+                default:
+                    return averageWaiting;
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package main.http;
+
+import java.io.IOException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+// Readiness probe for load balancers: 503 until warm-up has finished, 200 afterwards
+public class ReadyHandler implements HttpHandler {
+
+    private volatile boolean ready;
+
+    public void markReady() {
+        ready = true;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+        String method = exchange.getRequestMethod();
+        if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        if (!ready) {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+        }
+        int status = ready ? 200 : 503;
+        if ("HEAD".equalsIgnoreCase(method)) {
+            // Same headers as GET, and -1 so the server sends no body
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+            return;
+        }
+        HttpResponses.send(exchange, status, ready ? "{\"ready\":true}" : "{\"ready\":false,\"status\":\"warming up\"}");
+    }
+}
@@ -0,0 +1,88 @@
+package main.http;
+
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.RunBudget;
+import main.Simulation;
+
+// Per-request cost limits. The process count and the simulated time, taken as the sum of all bursts, are checked
+// before anything runs; the wall-clock budget is enforced while the simulation runs. Zero turns a limit off.
+public final class RequestLimits {
+
+    public static final RequestLimits NONE = new RequestLimits(0, 0, 0);
+
+    private final int maxProcesses;
+    private final long maxSimulatedTime;
+    private final long runBudgetMillis;
+
+    public RequestLimits(int maxProcesses, long maxSimulatedTime, long runBudgetMillis) {
+        this.maxProcesses = maxProcesses;
+        this.maxSimulatedTime = maxSimulatedTime;
+        this.runBudgetMillis = runBudgetMillis;
+    }
+
+    // For the request parsers, which stop as soon as a table would pass it; 0 for no limit
+    int maxProcesses() {
+        return maxProcesses;
+    }
+
+    static RequestTooLargeException tooManyProcesses(int maxProcesses) {
+        return new RequestTooLargeException("Request has more than " + maxProcesses + " processes; the limit is "
+                + maxProcesses);
+    }
+
+    void check(ProcessTable processes) {
+        checkProcessCount(processes.size());
+        if (maxSimulatedTime > 0) {
+            checkSimulatedTime(totalBurstTime(processes), "Total burst time ");
+        }
+    }
+
+    // Totals over several tables, e.g. everything a session has been given
+    void check(long processCount, long totalBurstTime) {
+        checkProcessCount(processCount);
+        checkSimulatedTime(totalBurstTime, "Total burst time ");
+    }
+
+    // Generated workloads are checked before they exist: all their processes together, and the expected sum of
+    // their bursts
+    void check(long processCount, double meanBurst) {
+        checkProcessCount(processCount);
+        checkSimulatedTime((long) Math.min(Long.MAX_VALUE, processCount * meanBurst), "Expected total burst time ");
+    }
+
+    static long totalBurstTime(ProcessTable processes) {
+        long total = 0;
+        for (int i = 0; i < processes.size(); i++) {
+            total += processes.burstTime[i];
+        }
+        return total;
+    }
+
+    private void checkProcessCount(long count) {
+        if (maxProcesses > 0 && count > maxProcesses) {
+            throw new RequestTooLargeException("Request has " + count + " processes; the limit is " + maxProcesses);
+        }
+    }
+
+    private void checkSimulatedTime(long total, String what) {
+        if (maxSimulatedTime > 0 && total > maxSimulatedTime) {
+            throw new RequestTooLargeException(what + total + " exceeds the limit of " + maxSimulatedTime);
+        }
+    }
+
+    // Wraps the listener of a run that started at the given System.nanoTime() so it stops once the budget is spent
+    ExecutionListener guard(ExecutionListener listener, long started) {
+        if (runBudgetMillis <= 0) {
+            return listener;
+        }
+        return new RunBudget(listener, started + runBudgetMillis * 1_000_000, runBudgetMillis);
+    }
+
+    // Same budget for an incremental simulation; the caller clears the deadline once the request is done
+    void guard(Simulation simulation, long started) {
+        if (runBudgetMillis > 0) {
+            simulation.setDeadline(started + runBudgetMillis * 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package main.http;
+
+// A request over one of the configured RequestLimits; handlers answer 413. Handlers that do not tell it
+// apart still answer 400 like any other invalid request.
+final class RequestTooLargeException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    RequestTooLargeException(String message) {
+        super(message);
+    }
+}
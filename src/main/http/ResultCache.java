@@ -0,0 +1,81 @@
+package main.http;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// LRU cache of serialized /api/schedule responses, bounded by entry count and total bytes
+public final class ResultCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    public ResultCache(int maxEntries, long maxBytes) {
+        this.maxEntries = Math.max(maxEntries, 0);
+        this.maxBytes = Math.max(maxBytes, 0);
+    }
+
+    boolean isEnabled() {
+        return maxEntries > 0 && maxBytes > 0;
+    }
+
+    // Largest response worth capturing; anything bigger would push out most of the cache
+    long maxEntryBytes() {
+        return maxBytes / 4;
+    }
+
+    byte[] get(String key) {
+        byte[] body;
+        synchronized (this) {
+            body = entries.get(key);
+        }
+        (body == null ? misses : hits).increment();
+        return body;
+    }
+
+    void put(String key, byte[] body) {
+        if (!isEnabled() || body.length > maxEntryBytes()) {
+            return;
+        }
+        synchronized (this) {
+            byte[] previous = entries.put(key, body);
+            if (previous != null) {
+                bytes -= previous.length;
+            }
+            bytes += body.length;
+            Iterator<byte[]> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= eldest.next().length;
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    void recordNotModified() {
+        notModified.increment();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        synchronized (this) {
+            stats.put("entries", entries.size());
+            stats.put("bytes", bytes);
+        }
+        stats.put("maxEntries", maxEntries);
+        stats.put("maxBytes", maxBytes);
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("evictions", evictions.sum());
+        stats.put("notModified", notModified.sum());
+        return stats;
+    }
+}
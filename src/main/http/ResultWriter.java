@@ -0,0 +1,114 @@
+package main.http;
+
+import java.io.IOException;
+import java.util.Locale;
+
+import main.CoreUsage;
+import main.PercentileHistogram;
+import main.ProcessTable;
+import main.ScheduleSummary;
+import main.Timeline;
+
+// Writes the fields of a schedule result into the JSON object that is currently open
+final class ResultWriter {
+
+    private ResultWriter() {
+    }
+
+    static void writeResult(JsonWriter json, ProcessTable processes) throws IOException {
+        long totalWaiting = 0;
+        long totalTurnaround = 0;
+
+        json.name("processes").beginArray();
+        for (int i = 0; i < processes.size(); i++) {
+            json.beginObject()
+                    .name("pid").value(processes.pid[i])
+                    .name("arrivalTime").value(processes.arrivalTime[i])
+                    .name("burstTime").value(processes.burstTime[i])
+                    .name("priority").value(processes.priority[i])
+                    .name("waitingTime").value(processes.waitingTime[i])
+                    .name("turnaroundTime").value(processes.turnaroundTime[i])
+                    .name("startTime").value(processes.startTime[i])
+                    .name("completionTime").value(processes.completionTime[i])
+                    .endObject();
+            totalWaiting += processes.waitingTime[i];
+            totalTurnaround += processes.turnaroundTime[i];
+        }
+        json.endArray();
+
+        int count = processes.size();
+        double avgWaiting = count == 0 ? 0 : (double) totalWaiting / count;
+        double avgTurnaround = count == 0 ? 0 : (double) totalTurnaround / count;
+
+        json.name("averageWaitingTime").value(round(avgWaiting))
+                .name("averageTurnaroundTime").value(round(avgTurnaround));
+    }
+
+    // Constant-size alternative to writeResult. The makespan is left to writeCoreUsage when that follows.
+    static void writeSummary(JsonWriter json, ScheduleSummary summary, boolean withCores) throws IOException {
+        json.name("processCount").value(summary.processCount())
+                .name("averageWaitingTime").value(round(summary.waitingTime.mean()))
+                .name("averageTurnaroundTime").value(round(summary.turnaroundTime.mean()));
+        writeDistribution(json, "waitingTime", summary.waitingTime);
+        writeDistribution(json, "turnaroundTime", summary.turnaroundTime);
+        writeDistribution(json, "responseTime", summary.responseTime);
+        json.name("throughput").value(round(summary.throughput()))
+                .name("cpuUtilization").value(round(summary.cpuUtilization()))
+                .name("contextSwitches").value(summary.contextSwitches.count());
+        if (!withCores) {
+            json.name("makespan").value(summary.usage.makespan());
+        }
+    }
+
+    private static void writeDistribution(JsonWriter json, String name, PercentileHistogram histogram) throws IOException {
+        json.name(name).beginObject()
+                .name("mean").value(round(histogram.mean()))
+                .name("min").value(histogram.min())
+                .name("p50").value(histogram.percentile(0.50))
+                .name("p95").value(histogram.percentile(0.95))
+                .name("p99").value(histogram.percentile(0.99))
+                .name("max").value(histogram.max())
+                .endObject();
+    }
+
+    // Idle gaps are written with a null pid
+    static void writeTimeline(JsonWriter json, Timeline timeline, ProcessTable processes, boolean withCores)
+            throws IOException {
+        json.name("timeline").beginArray();
+        for (int i = 0; i < timeline.size(); i++) {
+            json.beginObject();
+            if (withCores) {
+                json.name("core").value(timeline.core(i));
+            }
+            json.name("pid");
+            int row = timeline.row(i);
+            if (row == Timeline.IDLE) {
+                json.nullValue();
+            } else {
+                json.value(processes.pid[row]);
+            }
+            json.name("start").value(timeline.start(i))
+                    .name("end").value(timeline.end(i))
+                    .endObject();
+        }
+        json.endArray();
+        json.name("timelineTruncated").value(timeline.isTruncated());
+    }
+
+    static void writeCoreUsage(JsonWriter json, CoreUsage usage) throws IOException {
+        json.name("makespan").value(usage.makespan());
+        json.name("coreUsage").beginArray();
+        for (int core = 0; core < usage.cores(); core++) {
+            json.beginObject()
+                    .name("core").value(core)
+                    .name("busyTime").value(usage.busyTime(core))
+                    .name("utilization").value(round(usage.utilization(core)))
+                    .endObject();
+        }
+        json.endArray();
+    }
+
+    static double round(double value) {
+        return Double.parseDouble(String.format(Locale.US, "%.4f", value));
+    }
+}
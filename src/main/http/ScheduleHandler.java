@@ -1,211 +1,196 @@
 package main.http;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
-import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 
-import main.Process;
-import main.Scheduler;
-import main.SchedulerFactory;
+import main.BudgetExceededException;
+import main.CoreUsage;
+import main.ProcessTable;
+import main.ScheduleSummary;
+import main.TableScheduler;
+import main.Timeline;
 
 public class ScheduleHandler implements HttpHandler {
 
+    private final ResultCache cache;
+    private final Metrics metrics;
+    private final RequestLimits limits;
+
+    public ScheduleHandler() {
+        this(new ResultCache(0, 0), new Metrics(), RequestLimits.NONE);
+    }
+
+    public ScheduleHandler(ResultCache cache, Metrics metrics, RequestLimits limits) {
+        this.cache = cache;
+        this.metrics = metrics;
+        this.limits = limits;
+    }
+
     @Override
     public void handle(HttpExchange exchange) throws IOException {
-        addCorsHeaders(exchange.getResponseHeaders());
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
 
         String method = exchange.getRequestMethod();
         if ("OPTIONS".equalsIgnoreCase(method)) {
-            sendResponse(exchange, 204, "");
+            HttpResponses.send(exchange, 204, "");
             return;
         }
 
         if (!"POST".equalsIgnoreCase(method)) {
-            sendResponse(exchange, 405, errorMessage("Method not allowed"));
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
             return;
         }
 
-        String body = readBody(exchange.getRequestBody());
+        ProcessTable processes;
+        Timeline timeline;
+        CoreUsage usage;
+        ScheduleSummary summary;
+        String key;
+        String algorithm = null;
+        long started = System.nanoTime();
+        long parsed = 0;
+        TimedInputStream body = new TimedInputStream(exchange.getRequestBody());
+        boolean binaryRequest = BinaryFormat.matches(exchange.getRequestHeaders().getFirst("Content-Type"));
+        boolean binaryResponse = BinaryFormat.matches(exchange.getRequestHeaders().getFirst("Accept"));
+        String contentType = binaryResponse ? BinaryFormat.CONTENT_TYPE : "application/json; charset=utf-8";
+        exchange.getResponseHeaders().add("Vary", "Accept");
         try {
-            Map<String, Object> payload = castToMap(Json.parse(body));
-            String algorithm = toStringValue(payload.get("algorithm"));
-            Integer timeQuantum = toInteger(payload.get("timeQuantum"));
-            List<Object> rawProcesses = castToList(payload.get("processes"));
-            List<Process> processes = toProcesses(rawProcesses);
-
-            Scheduler scheduler = SchedulerFactory.create(algorithm, timeQuantum);
-            List<Process> scheduled = cloneList(processes);
-            scheduler.schedule(scheduled);
-
-            Map<String, Object> response = buildResponse(scheduled);
-            sendResponse(exchange, 200, Json.stringify(response));
+            ScheduleRequest request = binaryRequest
+                    ? ScheduleRequest.readBinary(body, exchange.getRequestURI().getRawQuery(), limits.maxProcesses())
+                    : ScheduleRequest.read(body, true, limits.maxProcesses());
+            request.binaryResponse = binaryResponse;
+            parsed = System.nanoTime();
+            processes = request.processes;
+            timeline = request.newTimeline();
+            summary = request.newSummary();
+            // A summary tracks core usage itself; it is listed per core only when cores were requested
+            usage = summary == null ? request.newCoreUsage() : request.cores == null ? null : summary.usage;
+            metrics.recordProcessCount(processes.size());
+            limits.check(processes);
+            TableScheduler scheduler = request.scheduler();
+            algorithm = request.algorithm.toUpperCase(Locale.ROOT);
+            recordIntake(algorithm, body, started, parsed);
+            key = request.cacheKey();
+
+            String etag = '"' + key + '"';
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (matchesETag(exchange.getRequestHeaders().getFirst("If-None-Match"), etag)) {
+                cache.recordNotModified();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+
+            byte[] cached = cache.isEnabled() ? cache.get(key) : null;
+            if (cached != null) {
+                exchange.getResponseHeaders().set("X-Cache", "HIT");
+                exchange.getResponseHeaders().set("Content-Type", contentType);
+                Compression.send(exchange, 200, cached);
+                return;
+            }
+
+            long scheduleStart = System.nanoTime();
+            long allocatedBefore = Metrics.threadAllocatedBytes();
+            scheduler.schedule(processes,
+                    limits.guard(summary != null ? summary : request.listener(timeline, usage), started));
+            if (summary != null) {
+                summary.record(processes);
+            }
+            metrics.recordAllocation(algorithm, allocatedBefore);
+            metrics.recordPhase(algorithm, Metrics.Phase.SCHEDULE, System.nanoTime() - scheduleStart);
+        } catch (RequestTooLargeException ex) {
+            if (algorithm == null) {
+                recordIntake(null, body, started, parsed == 0 ? System.nanoTime() : parsed);
+            }
+            exchange.getResponseHeaders().remove("ETag");
+            HttpResponses.sendError(exchange, 413, ex.getMessage());
+            return;
         } catch (IllegalArgumentException ex) {
-            sendResponse(exchange, 400, errorMessage(ex.getMessage()));
+            if (algorithm == null) {
+                recordIntake(null, body, started, parsed == 0 ? System.nanoTime() : parsed);
+            }
+            exchange.getResponseHeaders().remove("ETag");
+            HttpResponses.sendError(exchange, 400, ex.getMessage());
+            return;
+        } catch (BudgetExceededException ex) {
+            exchange.getResponseHeaders().remove("ETag");
+            HttpResponses.sendError(exchange, 503, ex.getMessage());
+            return;
         } catch (Exception ex) {
-            sendResponse(exchange, 500, errorMessage("Unexpected server error"));
+            if (algorithm == null) {
+                recordIntake(null, body, started, parsed == 0 ? System.nanoTime() : parsed);
+            }
+            exchange.getResponseHeaders().remove("ETag");
+            HttpResponses.sendError(exchange, 500, "Unexpected server error");
             ex.printStackTrace();
+            return;
         }
-    }
-
-    private void addCorsHeaders(Headers headers) {
-        headers.set("Access-Control-Allow-Origin", "*");
-        headers.set("Access-Control-Allow-Methods", "POST, OPTIONS");
-        headers.set("Access-Control-Allow-Headers", "Content-Type");
-        headers.set("Access-Control-Max-Age", "300");
-    }
-
-    private String readBody(InputStream input) throws IOException {
-        byte[] data = input.readAllBytes();
-        return new String(data, StandardCharsets.UTF_8);
-    }
-
-    private Map<String, Object> buildResponse(List<Process> processes) {
-        List<Object> serialized = new ArrayList<>();
-        long totalWaiting = 0;
-        long totalTurnaround = 0;
-
-        for (Process p : processes) {
-            Map<String, Object> row = new LinkedHashMap<>();
-            row.put("pid", p.pid);
-            row.put("arrivalTime", p.arrivalTime);
-            row.put("burstTime", p.burstTime);
-            row.put("priority", p.priority);
-            row.put("waitingTime", p.waitingTime);
-            row.put("turnaroundTime", p.turnaroundTime);
-            row.put("startTime", p.startTime);
-            row.put("completionTime", p.completionTime);
-            serialized.add(row);
-            totalWaiting += p.waitingTime;
-            totalTurnaround += p.turnaroundTime;
-        }
-
-        int count = processes.size();
-        double avgWaiting = count == 0 ? 0 : (double) totalWaiting / count;
-        double avgTurnaround = count == 0 ? 0 : (double) totalTurnaround / count;
-
-        Map<String, Object> response = new LinkedHashMap<>();
-        response.put("processes", serialized);
-        response.put("averageWaitingTime", round(avgWaiting));
-        response.put("averageTurnaroundTime", round(avgTurnaround));
-        return response;
-    }
-
-    private double round(double value) {
-        return Double.parseDouble(String.format(Locale.US, "%.4f", value));
-    }
-
-    private List<Process> cloneList(List<Process> original) {
-        List<Process> copy = new ArrayList<>();
-        for (Process p : original) {
-            copy.add(p.copy());
-        }
-        return copy;
-    }
-
-    private List<Process> toProcesses(List<Object> rawProcesses) {
-        if (rawProcesses == null) {
-            throw new IllegalArgumentException("Processes array is required");
-        }
-        List<Process> processes = new ArrayList<>();
-        int index = 0;
-        for (Object obj : rawProcesses) {
-            Map<String, Object> node = castToMap(obj);
-            int pid = toIntegerOrDefault(node.get("pid"), index + 1);
-            int arrival = requireInt(node.get("arrivalTime"), "arrivalTime");
-            int burst = requirePositiveInt(node.get("burstTime"), "burstTime");
-            int priority = toIntegerOrDefault(node.get("priority"), 0);
-            processes.add(new Process(pid, arrival, burst, priority));
-            index++;
-        }
-        return processes;
-    }
-
-    private int requireInt(Object value, String field) {
-        Integer iv = toInteger(value);
-        if (iv == null) {
-            throw new IllegalArgumentException("Missing required field '" + field + "'");
-        }
-        return iv;
-    }
-
-    private int requirePositiveInt(Object value, String field) {
-        int iv = requireInt(value, field);
-        if (iv <= 0) {
-            throw new IllegalArgumentException("Field '" + field + "' must be greater than zero");
-        }
-        return iv;
-    }
-
-    private Integer toInteger(Object value) {
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof Number) {
-            return ((Number) value).intValue();
-        }
-        if (value instanceof String) {
-            return Integer.parseInt((String) value);
-        }
-        throw new IllegalArgumentException("Expected numeric value but found " + value.getClass());
-    }
-
-    private int toIntegerOrDefault(Object value, int defaultValue) {
-        Integer iv = toInteger(value);
-        return iv == null ? defaultValue : iv;
-    }
-
-    private String toStringValue(Object value) {
-        if (value == null) {
-            return null;
-        }
-        if (value instanceof String) {
-            return (String) value;
-        }
-        return String.valueOf(value);
-    }
-
-    @SuppressWarnings("unchecked")
-    private Map<String, Object> castToMap(Object value) {
-        if (value instanceof Map) {
-            return (Map<String, Object>) value;
-        }
-        throw new IllegalArgumentException("Expected object but found " + typeName(value));
-    }
-
-    @SuppressWarnings("unchecked")
-    private List<Object> castToList(Object value) {
-        if (value instanceof List) {
-            return (List<Object>) value;
-        }
-        throw new IllegalArgumentException("Expected array but found " + typeName(value));
-    }
-
-    private String typeName(Object value) {
-        return value == null ? "null" : value.getClass().getSimpleName();
-    }
 
-    private String errorMessage(String message) {
-        Map<String, Object> error = new LinkedHashMap<>();
-        error.put("error", message == null ? "Unknown error" : message);
-        return Json.stringify(error);
-    }
-
-    private void sendResponse(HttpExchange exchange, int status, String body) throws IOException {
-        byte[] bytes = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
-        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
-        exchange.sendResponseHeaders(status, bytes.length);
-        try (OutputStream os = exchange.getResponseBody()) {
-            os.write(bytes);
-        }
+        exchange.getResponseHeaders().set("X-Cache", "MISS");
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        long writeStart = System.nanoTime();
+        TimedOutputStream network = new TimedOutputStream(Compression.body(exchange, 200));
+        CapturingOutputStream response = new CapturingOutputStream(network,
+                cache.isEnabled() ? cache.maxEntryBytes() : 0);
+        try {
+            if (binaryResponse) {
+                BinaryFormat.writeResult(response, processes, usage, timeline);
+            } else {
+                writeJson(response, processes, summary, usage, timeline);
+            }
+        } finally {
+            metrics.recordPhase(algorithm, Metrics.Phase.WRITE, network.nanos());
+            metrics.recordPhase(algorithm, Metrics.Phase.SERIALIZE, System.nanoTime() - writeStart - network.nanos());
+        }
+        byte[] captured = response.captured();
+        if (captured != null) {
+            cache.put(key, captured);
+        }
+    }
+
+    static void writeJson(OutputStream output, ProcessTable processes, ScheduleSummary summary,
+            CoreUsage usage, Timeline timeline) throws IOException {
+        try (JsonWriter json = new JsonWriter(output)) {
+            json.beginObject();
+            if (summary != null) {
+                ResultWriter.writeSummary(json, summary, usage != null);
+            } else {
+                ResultWriter.writeResult(json, processes);
+            }
+            if (usage != null) {
+                ResultWriter.writeCoreUsage(json, usage);
+            }
+            if (timeline != null) {
+                ResultWriter.writeTimeline(json, timeline, processes, usage != null);
+            }
+            json.endObject();
+        }
+    }
+
+    // Reading and parsing are interleaved, so parse time is whatever was not spent waiting for bytes
+    private void recordIntake(String algorithm, TimedInputStream body, long started, long parsed) {
+        metrics.recordPhase(algorithm, Metrics.Phase.READ, body.nanos());
+        metrics.recordPhase(algorithm, Metrics.Phase.PARSE, parsed - started - body.nanos());
+    }
+
+    // If-None-Match may list several tags or be the wildcard
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag) || tag.equals("*")) {
+                return true;
+            }
+        }
+        return false;
     }
 }
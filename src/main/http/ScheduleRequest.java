@@ -0,0 +1,571 @@
+package main.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import main.CoreUsage;
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.ScheduleSummary;
+import main.SchedulerFactory;
+import main.TableScheduler;
+import main.Timeline;
+import main.WorkloadGenerator.Distribution;
+import main.algorithms.MultiCore;
+
+final class ScheduleRequest {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long MISSING = Long.MIN_VALUE;
+    static final int DEFAULT_TIMELINE_LIMIT = 10_000;
+
+    String algorithm;
+    Integer timeQuantum;
+    ProcessTable processes;
+    List<String> algorithms;
+    List<Integer> timeQuanta;
+    boolean timeline;
+    int timelineLimit = DEFAULT_TIMELINE_LIMIT;
+    boolean summaryOnly;
+    Integer time;
+    Integer levels;
+    List<Integer> levelQuanta;
+    Integer boostInterval;
+    Integer cores;
+    MultiCore.LoadBalancing loadBalancing = MultiCore.LoadBalancing.WORK_STEALING;
+    Integer runs;
+    Integer processCount;
+    Integer seed;
+    Distribution interarrival;
+    Distribution burst;
+    Distribution priority;
+    Integer minQuantum;
+    Integer maxQuantum;
+    Integer quantumStep;
+    String objective;
+    // Set by the handler when the response goes out in BinaryFormat, so both representations get their own ETag
+    boolean binaryResponse;
+
+    static ScheduleRequest read(InputStream body) throws IOException {
+        return read(body, true, 0);
+    }
+
+    static ScheduleRequest read(InputStream body, boolean processesRequired) throws IOException {
+        return read(body, processesRequired, 0);
+    }
+
+    // Stops with RequestTooLargeException as soon as the processes array passes maxProcesses (0 for no limit),
+    // so an oversized body is never held in full
+    static ScheduleRequest read(InputStream body, boolean processesRequired, int maxProcesses) throws IOException {
+        JsonReader reader = new JsonReader(body);
+        ScheduleRequest request = new ScheduleRequest();
+        requireType(reader, '{', "object");
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "algorithm":
+                    request.algorithm = readString(reader);
+                    break;
+                case "timeQuantum":
+                    request.timeQuantum = readInteger(reader);
+                    break;
+                case "processes":
+                    request.processes = readProcesses(reader, maxProcesses);
+                    break;
+                case "algorithms":
+                    request.algorithms = readStrings(reader);
+                    break;
+                case "timeQuanta":
+                    request.timeQuanta = readIntegers(reader);
+                    break;
+                case "levels":
+                    request.levels = readInteger(reader);
+                    break;
+                case "levelQuanta":
+                    request.levelQuanta = readIntegers(reader);
+                    break;
+                case "boostInterval":
+                    request.boostInterval = readInteger(reader);
+                    break;
+                case "cores":
+                    request.cores = readInteger(reader);
+                    break;
+                case "loadBalancing":
+                    String balancing = readString(reader);
+                    if (balancing != null) {
+                        request.loadBalancing = MultiCore.LoadBalancing.parse(balancing);
+                    }
+                    break;
+                case "time":
+                    request.time = readInteger(reader);
+                    break;
+                case "minQuantum":
+                    request.minQuantum = readInteger(reader);
+                    break;
+                case "maxQuantum":
+                    request.maxQuantum = readInteger(reader);
+                    break;
+                case "quantumStep":
+                    request.quantumStep = readInteger(reader);
+                    break;
+                case "objective":
+                    request.objective = readString(reader);
+                    break;
+                case "runs":
+                    request.runs = readInteger(reader);
+                    break;
+                case "processCount":
+                    request.processCount = readInteger(reader);
+                    break;
+                case "seed":
+                    request.seed = readInteger(reader);
+                    break;
+                case "interarrival":
+                    request.interarrival = readDistribution(reader);
+                    break;
+                case "burst":
+                    request.burst = readDistribution(reader);
+                    break;
+                case "priority":
+                    request.priority = readDistribution(reader);
+                    break;
+                case "timeline":
+                    request.timeline = readBoolean(reader);
+                    break;
+                case "summaryOnly":
+                    request.summaryOnly = readBoolean(reader);
+                    break;
+                case "timelineLimit":
+                    Integer limit = readInteger(reader);
+                    if (limit != null) {
+                        if (limit < 0) {
+                            throw new IllegalArgumentException("Field 'timelineLimit' must not be negative");
+                        }
+                        request.timelineLimit = limit;
+                    }
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+        reader.endDocument();
+
+        if (processesRequired && request.processes == null) {
+            throw new IllegalArgumentException("Processes array is required");
+        }
+        return request;
+    }
+
+    // A BinaryFormat body carries only the processes; the scheduling options come from the query string
+    static ScheduleRequest readBinary(InputStream body, String rawQuery) throws IOException {
+        return readBinary(body, rawQuery, 0);
+    }
+
+    static ScheduleRequest readBinary(InputStream body, String rawQuery, int maxProcesses) throws IOException {
+        ScheduleRequest request = new ScheduleRequest();
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                request.setParameter(name, value);
+            }
+        }
+        request.processes = BinaryFormat.readProcesses(body, maxProcesses);
+        return request;
+    }
+
+    private void setParameter(String name, String value) {
+        switch (name) {
+            case "algorithm":
+                algorithm = value;
+                break;
+            case "timeQuantum":
+                timeQuantum = parseParameter(name, value);
+                break;
+            case "levels":
+                levels = parseParameter(name, value);
+                break;
+            case "levelQuanta":
+                levelQuanta = new ArrayList<>();
+                for (String quantum : value.split(",")) {
+                    levelQuanta.add(parseParameter(name, quantum));
+                }
+                break;
+            case "boostInterval":
+                boostInterval = parseParameter(name, value);
+                break;
+            case "cores":
+                cores = parseParameter(name, value);
+                break;
+            case "loadBalancing":
+                loadBalancing = MultiCore.LoadBalancing.parse(value);
+                break;
+            case "timeline":
+                timeline = value.isEmpty() || Boolean.parseBoolean(value);
+                break;
+            case "summaryOnly":
+                summaryOnly = value.isEmpty() || Boolean.parseBoolean(value);
+                break;
+            case "timelineLimit":
+                timelineLimit = parseParameter(name, value);
+                if (timelineLimit < 0) {
+                    throw new IllegalArgumentException("Field 'timelineLimit' must not be negative");
+                }
+                break;
+            default:
+                // Unknown parameters are ignored, like unknown JSON fields
+        }
+    }
+
+    private static int parseParameter(String name, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Parameter '" + name + "' must be an integer");
+        }
+    }
+
+    // Identifies the schedule this request produces; must be taken before the table is scheduled
+    String cacheKey() {
+        ContentHash hash = new ContentHash();
+        hash.putString(algorithm == null ? null : algorithm.toUpperCase(Locale.ROOT));
+        if (SchedulerFactory.usesTimeQuantum(algorithm)) {
+            hash.putInt(timeQuantum == null ? SchedulerFactory.DEFAULT_TIME_QUANTUM : timeQuantum);
+        } else {
+            hash.putInt(0);
+        }
+        if ("MLFQ".equalsIgnoreCase(algorithm)) {
+            hash.putInt(levels == null ? -1 : levels);
+            hash.putInt(levelQuanta == null ? -1 : levelQuanta.size());
+            if (levelQuanta != null) {
+                for (Integer quantum : levelQuanta) {
+                    hash.putInt(quantum == null ? -1 : quantum);
+                }
+            }
+            hash.putInt(boostInterval == null ? -1 : boostInterval);
+        }
+        hash.putInt(cores == null ? 0 : cores);
+        hash.putInt(cores == null ? -1 : loadBalancing.ordinal());
+        hash.putInt(timeline ? timelineLimit : -1);
+        hash.putInt(summaryOnly ? 1 : 0);
+        hash.putInt(processes.size());
+        for (int i = 0; i < processes.size(); i++) {
+            hash.putInt(processes.pid[i])
+                    .putInt(processes.arrivalTime[i])
+                    .putInt(processes.burstTime[i])
+                    .putInt(processes.priority[i]);
+        }
+        if (binaryResponse) {
+            hash.putString(BinaryFormat.CONTENT_TYPE);
+        }
+        return hash.toHex();
+    }
+
+    TableScheduler scheduler() {
+        return scheduler(algorithm, timeQuantum);
+    }
+
+    // MLFQ picks up the level settings of the request; every other algorithm only needs the quantum.
+    // Any explicit core count, including 1, goes through the multi-core engine so core usage can be reported.
+    TableScheduler scheduler(String algorithmId, Integer quantum) {
+        TableScheduler scheduler = "MLFQ".equalsIgnoreCase(algorithmId)
+                ? SchedulerFactory.mlfq(quantum, levels, levelQuanta, boostInterval)
+                : SchedulerFactory.create(algorithmId, quantum);
+        return cores == null ? scheduler : new MultiCore(scheduler, cores, loadBalancing);
+    }
+
+    // Listener for one run: the requested timeline and, on multiple cores, per-core usage
+    ExecutionListener listener(Timeline timeline, CoreUsage usage) {
+        if (timeline == null) {
+            return usage == null ? ExecutionListener.NONE : usage;
+        }
+        return usage == null ? timeline : ExecutionListener.combine(timeline, usage);
+    }
+
+    // Aggregates for a summaryOnly request, or null when every process row is wanted
+    ScheduleSummary newSummary() {
+        if (!summaryOnly) {
+            return null;
+        }
+        if (timeline || binaryResponse) {
+            throw new IllegalArgumentException("summaryOnly responses are JSON without a timeline");
+        }
+        return new ScheduleSummary(cores == null ? 1 : cores);
+    }
+
+    CoreUsage newCoreUsage() {
+        return cores == null ? null : new CoreUsage(cores);
+    }
+
+    // A fresh recorder for one run, or null when the request did not ask for a timeline
+    Timeline newTimeline() {
+        return timeline ? new Timeline(timelineLimit) : null;
+    }
+
+    private static ProcessTable readProcesses(JsonReader reader, int maxProcesses) throws IOException {
+        requireType(reader, '[', "array");
+        ProcessTable processes = new ProcessTable(INITIAL_CAPACITY);
+        reader.beginArray();
+        while (reader.hasNext()) {
+            requireType(reader, '{', "object");
+            long pid = MISSING;
+            long arrival = MISSING;
+            long burst = MISSING;
+            long priority = MISSING;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "pid":
+                        pid = readOptionalInt(reader);
+                        break;
+                    case "arrivalTime":
+                        arrival = readOptionalInt(reader);
+                        break;
+                    case "burstTime":
+                        burst = readOptionalInt(reader);
+                        break;
+                    case "priority":
+                        priority = readOptionalInt(reader);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (maxProcesses > 0 && processes.size() == maxProcesses) {
+                throw RequestLimits.tooManyProcesses(maxProcesses);
+            }
+            processes.add(pid == MISSING ? processes.size() + 1 : (int) pid,
+                    requireInt(arrival, "arrivalTime"),
+                    requirePositiveInt(burst, "burstTime"),
+                    priority == MISSING ? 0 : (int) priority);
+        }
+        reader.endArray();
+        return processes;
+    }
+
+    // Either the command-line form ("uniform:1:20") or an object such as
+    // { "distribution": "pareto", "scale": 1, "shape": 1.5 }
+    private static Distribution readDistribution(JsonReader reader) throws IOException {
+        int ch = reader.peek();
+        if (ch == 'n') {
+            reader.nextNull();
+            return null;
+        }
+        if (ch == '"') {
+            return Distribution.parse(reader.nextString());
+        }
+        requireType(reader, '{', "object");
+        String kind = null;
+        double value = Double.NaN;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        double mean = Double.NaN;
+        double scale = Double.NaN;
+        double shape = Double.NaN;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "distribution":
+                    kind = readString(reader);
+                    break;
+                case "value":
+                    value = readDouble(reader);
+                    break;
+                case "min":
+                    min = readDouble(reader);
+                    break;
+                case "max":
+                    max = readDouble(reader);
+                    break;
+                case "mean":
+                    mean = readDouble(reader);
+                    break;
+                case "scale":
+                    scale = readDouble(reader);
+                    break;
+                case "shape":
+                    shape = readDouble(reader);
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (kind == null) {
+            throw new IllegalArgumentException("Missing required field 'distribution'");
+        }
+        switch (kind.toUpperCase(Locale.ROOT)) {
+            case "CONSTANT":
+                return Distribution.constant(requireWhole(value, "value"));
+            case "UNIFORM":
+                return Distribution.uniform(requireWhole(min, "min"), requireWhole(max, "max"));
+            case "EXPONENTIAL":
+                return Distribution.exponential(requireNumber(mean, "mean"));
+            case "PARETO":
+                return Distribution.pareto(requireNumber(scale, "scale"), requireNumber(shape, "shape"));
+            default:
+                throw new IllegalArgumentException("Unsupported distribution: " + kind);
+        }
+    }
+
+    private static double requireNumber(double value, String field) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("Missing required field '" + field + "'");
+        }
+        return value;
+    }
+
+    private static int requireWhole(double value, String field) {
+        double number = requireNumber(value, field);
+        if (number != Math.rint(number) || number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Field '" + field + "' must be an integer");
+        }
+        return (int) number;
+    }
+
+    private static List<String> readStrings(JsonReader reader) throws IOException {
+        requireType(reader, '[', "array");
+        List<String> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(readString(reader));
+        }
+        reader.endArray();
+        return values;
+    }
+
+    private static List<Integer> readIntegers(JsonReader reader) throws IOException {
+        requireType(reader, '[', "array");
+        List<Integer> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(readInteger(reader));
+        }
+        reader.endArray();
+        return values;
+    }
+
+    private static int requireInt(long value, String field) {
+        if (value == MISSING) {
+            throw new IllegalArgumentException("Missing required field '" + field + "'");
+        }
+        return (int) value;
+    }
+
+    private static int requirePositiveInt(long value, String field) {
+        int iv = requireInt(value, field);
+        if (iv <= 0) {
+            throw new IllegalArgumentException("Field '" + field + "' must be greater than zero");
+        }
+        return iv;
+    }
+
+    private static Integer readInteger(JsonReader reader) throws IOException {
+        long value = readOptionalInt(reader);
+        return value == MISSING ? null : (int) value;
+    }
+
+    // Unboxed variant of readInteger for the per-process fields; null comes back as MISSING
+    private static long readOptionalInt(JsonReader reader) throws IOException {
+        int ch = reader.peek();
+        if (ch == 'n') {
+            reader.nextNull();
+            return MISSING;
+        }
+        if (ch == '"') {
+            return Integer.parseInt(reader.nextString());
+        }
+        if (ch == '-' || (ch >= '0' && ch <= '9')) {
+            return reader.nextInt();
+        }
+        throw new IllegalArgumentException("Expected numeric value but found " + typeName(ch));
+    }
+
+    // Null comes back as NaN
+    private static double readDouble(JsonReader reader) throws IOException {
+        int ch = reader.peek();
+        if (ch == 'n') {
+            reader.nextNull();
+            return Double.NaN;
+        }
+        if (ch == '"') {
+            try {
+                return Double.parseDouble(reader.nextString());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Expected numeric value but found string");
+            }
+        }
+        if (ch == '-' || (ch >= '0' && ch <= '9')) {
+            return reader.nextDouble();
+        }
+        throw new IllegalArgumentException("Expected numeric value but found " + typeName(ch));
+    }
+
+    private static boolean readBoolean(JsonReader reader) throws IOException {
+        int ch = reader.peek();
+        if (ch == 'n') {
+            reader.nextNull();
+            return false;
+        }
+        if (ch == 't' || ch == 'f') {
+            return reader.nextBoolean();
+        }
+        throw new IllegalArgumentException("Expected boolean but found " + typeName(ch));
+    }
+
+    private static String readString(JsonReader reader) throws IOException {
+        int ch = reader.peek();
+        if (ch == 'n') {
+            reader.nextNull();
+            return null;
+        }
+        if (ch == '"') {
+            return reader.nextString();
+        }
+        if (ch == 't' || ch == 'f') {
+            return String.valueOf(reader.nextBoolean());
+        }
+        if (ch == '-' || (ch >= '0' && ch <= '9')) {
+            return String.valueOf(reader.nextInt());
+        }
+        throw new IllegalArgumentException("Expected string but found " + typeName(ch));
+    }
+
+    private static void requireType(JsonReader reader, char token, String type) throws IOException {
+        int ch = reader.peek();
+        if (ch < 0) {
+            throw reader.unexpected(ch);
+        }
+        if (ch != token) {
+            throw new IllegalArgumentException("Expected " + type + " but found " + typeName(ch));
+        }
+    }
+
+    private static String typeName(int ch) {
+        switch (ch) {
+            case '{':
+                return "object";
+            case '[':
+                return "array";
+            case '"':
+                return "string";
+            case 't':
+            case 'f':
+                return "boolean";
+            case 'n':
+                return "null";
+            default:
+                return ch == '-' || (ch >= '0' && ch <= '9') ? "number" : "'" + (char) ch + "'";
+        }
+    }
+}
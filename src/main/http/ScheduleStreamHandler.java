@@ -0,0 +1,344 @@
+package main.http;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Locale;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import main.BudgetExceededException;
+import main.CoreUsage;
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.TableScheduler;
+import main.Timeline;
+
+// Streaming variant of /api/schedule: the result goes out as Server-Sent Events while the simulation runs.
+//   event: processes   data: array of completed processes, in completion order
+//   event: timeline    data: array of { core?, pid, start, end } segments, merged as in the buffered timeline
+//   event: done        data: { processCount, averageWaitingTime, averageTurnaroundTime, timelineTruncated?,
+//                              makespan?, coreUsage? }
+//   event: error       data: { error } when the run fails after the stream has started
+// Events are batched and flushed as they fill, so nothing but the input table is held for the whole run.
+public class ScheduleStreamHandler implements HttpHandler {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final Metrics metrics;
+    private final RequestLimits limits;
+
+    public ScheduleStreamHandler(Metrics metrics, RequestLimits limits) {
+        this.metrics = metrics;
+        this.limits = limits;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+
+        String method = exchange.getRequestMethod();
+        if ("OPTIONS".equalsIgnoreCase(method)) {
+            HttpResponses.send(exchange, 204, "");
+            return;
+        }
+
+        if (!"POST".equalsIgnoreCase(method)) {
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+
+        long started = System.nanoTime();
+        ScheduleRequest request;
+        TableScheduler scheduler;
+        CoreUsage usage;
+        try {
+            request = BinaryFormat.matches(exchange.getRequestHeaders().getFirst("Content-Type"))
+                    ? ScheduleRequest.readBinary(exchange.getRequestBody(), exchange.getRequestURI().getRawQuery(),
+                            limits.maxProcesses())
+                    : ScheduleRequest.read(exchange.getRequestBody(), true, limits.maxProcesses());
+            if (request.summaryOnly) {
+                throw new IllegalArgumentException("summaryOnly does not apply to streamed results");
+            }
+            scheduler = request.scheduler();
+            usage = request.newCoreUsage();
+            metrics.recordProcessCount(request.processes.size());
+            limits.check(request.processes);
+        } catch (RequestTooLargeException ex) {
+            HttpResponses.sendError(exchange, 413, ex.getMessage());
+            return;
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendError(exchange, 400, ex.getMessage());
+            return;
+        } catch (Exception ex) {
+            HttpResponses.sendError(exchange, 500, "Unexpected server error");
+            ex.printStackTrace();
+            return;
+        }
+
+        // Headers go out before the run so the client sees the stream open; compression would hold events back
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.getResponseHeaders().set("X-Accel-Buffering", "no");
+        exchange.sendResponseHeaders(200, 0);
+        String algorithm = request.algorithm.toUpperCase(Locale.ROOT);
+        long scheduleStart = System.nanoTime();
+        try (JsonWriter json = new JsonWriter(exchange.getResponseBody())) {
+            ProcessTable processes = request.processes;
+            Events events = new Events(json, processes, request.timeline ? request.timelineLimit : -1,
+                    request.cores != null);
+            try {
+                ExecutionListener listener = usage == null ? events : ExecutionListener.combine(events, usage);
+                scheduler.schedule(processes, limits.guard(listener, started));
+                events.finish(usage);
+            } catch (IllegalArgumentException | BudgetExceededException ex) {
+                writeError(json, events, ex.getMessage());
+            } catch (UncheckedIOException ex) {
+                // The client went away; the write that failed already stopped the run
+                return;
+            } catch (RuntimeException ex) {
+                // The status line has already gone out as 200, so the failure can only be reported in the stream
+                writeError(json, events, "Unexpected server error");
+                ex.printStackTrace();
+            }
+        } finally {
+            metrics.recordPhase(algorithm, Metrics.Phase.SCHEDULE, System.nanoTime() - scheduleStart);
+        }
+    }
+
+    // The processes and segments completed before the failure go out first, so the client keeps what it was shown
+    private static void writeError(JsonWriter json, Events events, String message) throws IOException {
+        events.flushBatches();
+        json.raw("event: error\ndata: ");
+        json.beginObject().name("error").value(message).endObject();
+        json.raw("\n\n");
+    }
+
+    // Turns the run's reports into events: a process completes once it has run for its whole burst, and
+    // segments are merged per core before they are written
+    private static final class Events implements ExecutionListener {
+        private final JsonWriter json;
+        private final ProcessTable table;
+        private final boolean withCores;
+        // Negative when no timeline was requested
+        private final int timelineLimit;
+        private final int[] executed;
+        private final int[] completed = new int[BATCH_SIZE];
+        private final int[] completedAt = new int[BATCH_SIZE];
+        private int completedCount;
+        private long totalWaiting;
+        private long totalTurnaround;
+
+        private final int[] segmentCore = new int[BATCH_SIZE];
+        private final int[] segmentRow = new int[BATCH_SIZE];
+        private final int[] segmentStart = new int[BATCH_SIZE];
+        private final int[] segmentEnd = new int[BATCH_SIZE];
+        private int segmentCount;
+        private int segmentsWritten;
+        private boolean truncated;
+        // Open segment per core, still extendable by a contiguous run of the same row
+        private int[] openRow = new int[0];
+        private int[] openStart = new int[0];
+        private int[] openEnd = new int[0];
+
+        Events(JsonWriter json, ProcessTable table, int timelineLimit, boolean withCores) {
+            this.json = json;
+            this.table = table;
+            this.timelineLimit = timelineLimit;
+            this.withCores = withCores;
+            this.executed = new int[table.size()];
+        }
+
+        @Override
+        public void onRun(int row, int start, int end) {
+            onCoreRun(0, row, start, end);
+        }
+
+        @Override
+        public void onIdle(int start, int end) {
+            onCoreIdle(0, start, end);
+        }
+
+        @Override
+        public void onCoreRun(int core, int row, int start, int end) {
+            segment(core, row, start, end);
+            executed[row] += end - start;
+            if (executed[row] >= table.burstTime[row]) {
+                complete(row, end);
+            }
+        }
+
+        @Override
+        public void onCoreIdle(int core, int start, int end) {
+            segment(core, Timeline.IDLE, start, end);
+        }
+
+        // Nobody finishes inside a run of rounds, so only the timeline needs the individual turns
+        @Override
+        public void onRounds(int[] rows, int first, int count, int start, int slice, long rounds) {
+            if (count == 1) {
+                segment(0, rows[first], start, (int) (start + rounds * slice));
+            } else if (timelineLimit >= 0 && !truncated) {
+                long time = start;
+                for (long round = 0; round < rounds && !truncated; round++) {
+                    for (int i = 0; i < count; i++) {
+                        segment(0, rows[(first + i) % rows.length], (int) time, (int) (time + slice));
+                        time += slice;
+                    }
+                }
+            }
+            int executedPerRow = (int) (rounds * slice);
+            for (int i = 0; i < count; i++) {
+                executed[rows[(first + i) % rows.length]] += executedPerRow;
+            }
+        }
+
+        void finish(CoreUsage usage) throws IOException {
+            for (int core = 0; core < openRow.length; core++) {
+                close(core);
+            }
+            flushBatches();
+            int count = table.size();
+            json.raw("event: done\ndata: ");
+            json.beginObject()
+                    .name("processCount").value(count)
+                    .name("averageWaitingTime").value(ResultWriter.round(count == 0 ? 0 : (double) totalWaiting / count))
+                    .name("averageTurnaroundTime").value(ResultWriter.round(count == 0 ? 0 : (double) totalTurnaround / count));
+            if (timelineLimit >= 0) {
+                json.name("timelineTruncated").value(truncated);
+            }
+            if (usage != null) {
+                ResultWriter.writeCoreUsage(json, usage);
+            }
+            json.endObject();
+            json.raw("\n\n");
+        }
+
+        void flushBatches() throws IOException {
+            writeProcesses();
+            writeSegments();
+            json.flush();
+        }
+
+        private void complete(int row, int end) {
+            int turnaround = end - table.arrivalTime[row];
+            totalTurnaround += turnaround;
+            totalWaiting += turnaround - table.burstTime[row];
+            completed[completedCount] = row;
+            completedAt[completedCount++] = end;
+            if (completedCount == BATCH_SIZE) {
+                try {
+                    writeProcesses();
+                    json.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+
+        private void segment(int core, int row, int start, int end) {
+            if (timelineLimit < 0 || truncated || start >= end) {
+                return;
+            }
+            if (core >= openRow.length) {
+                int previous = openRow.length;
+                openRow = Arrays.copyOf(openRow, core + 1);
+                openStart = Arrays.copyOf(openStart, core + 1);
+                openEnd = Arrays.copyOf(openEnd, core + 1);
+                Arrays.fill(openEnd, previous, core + 1, Integer.MIN_VALUE);
+            }
+            if (openEnd[core] == start && openRow[core] == row) {
+                openEnd[core] = end;
+                return;
+            }
+            close(core);
+            if (truncated) {
+                return;
+            }
+            openRow[core] = row;
+            openStart[core] = start;
+            openEnd[core] = end;
+        }
+
+        // Queues the open segment of the core, if any, counting it against the timeline limit
+        private void close(int core) {
+            if (openEnd[core] == Integer.MIN_VALUE) {
+                return;
+            }
+            if (segmentsWritten == timelineLimit) {
+                truncated = true;
+                openEnd[core] = Integer.MIN_VALUE;
+                return;
+            }
+            segmentCore[segmentCount] = core;
+            segmentRow[segmentCount] = openRow[core];
+            segmentStart[segmentCount] = openStart[core];
+            segmentEnd[segmentCount] = openEnd[core];
+            segmentCount++;
+            segmentsWritten++;
+            openEnd[core] = Integer.MIN_VALUE;
+            if (segmentCount == BATCH_SIZE) {
+                try {
+                    writeSegments();
+                    json.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }
+
+        // The scheduler fills in the result columns only after reporting the final slice, so apart from the
+        // start time, which is set before a process first runs, they are derived here the same way
+        private void writeProcesses() throws IOException {
+            if (completedCount == 0) {
+                return;
+            }
+            json.raw("event: processes\ndata: ");
+            json.beginArray();
+            for (int i = 0; i < completedCount; i++) {
+                int row = completed[i];
+                int turnaround = completedAt[i] - table.arrivalTime[row];
+                json.beginObject()
+                        .name("pid").value(table.pid[row])
+                        .name("arrivalTime").value(table.arrivalTime[row])
+                        .name("burstTime").value(table.burstTime[row])
+                        .name("priority").value(table.priority[row])
+                        .name("waitingTime").value(turnaround - table.burstTime[row])
+                        .name("turnaroundTime").value(turnaround)
+                        .name("startTime").value(table.startTime[row])
+                        .name("completionTime").value(completedAt[i])
+                        .endObject();
+            }
+            json.endArray();
+            json.raw("\n\n");
+            completedCount = 0;
+        }
+
+        private void writeSegments() throws IOException {
+            if (segmentCount == 0) {
+                return;
+            }
+            json.raw("event: timeline\ndata: ");
+            json.beginArray();
+            for (int i = 0; i < segmentCount; i++) {
+                json.beginObject();
+                if (withCores) {
+                    json.name("core").value(segmentCore[i]);
+                }
+                json.name("pid");
+                if (segmentRow[i] == Timeline.IDLE) {
+                    json.nullValue();
+                } else {
+                    json.value(table.pid[segmentRow[i]]);
+                }
+                json.name("start").value(segmentStart[i])
+                        .name("end").value(segmentEnd[i])
+                        .endObject();
+            }
+            json.endArray();
+            json.raw("\n\n");
+            segmentCount = 0;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package main.http;
+
+import java.util.Locale;
+
+import main.ProcessTable;
+import main.SchedulerFactory;
+import main.Simulation;
+
+// One client's incremental simulation; callers synchronize on the session
+final class Session {
+
+    final String id;
+    final String algorithm;
+    final Integer timeQuantum;
+    final ProcessTable processes = new ProcessTable(16);
+    final Simulation simulation;
+    // Sum of every burst appended so far, for the simulated time limit
+    long totalBurstTime;
+    volatile long lastAccess = System.nanoTime();
+
+    Session(String id, String algorithm, Integer timeQuantum) {
+        this.simulation = SchedulerFactory.create(algorithm, timeQuantum).simulate(processes);
+        this.id = id;
+        this.algorithm = algorithm.toUpperCase(Locale.ROOT);
+        this.timeQuantum = SchedulerFactory.usesTimeQuantum(algorithm)
+                ? (timeQuantum == null ? SchedulerFactory.DEFAULT_TIME_QUANTUM : timeQuantum)
+                : null;
+    }
+
+    // All-or-nothing: nothing is added if any process arrives before the session clock
+    void append(ProcessTable added) {
+        int clock = simulation.time();
+        for (int i = 0; i < added.size(); i++) {
+            if (clock != Simulation.NOT_STARTED && added.arrivalTime[i] <= clock) {
+                throw new IllegalArgumentException("Process " + added.pid[i] + " arrives at " + added.arrivalTime[i]
+                        + " but the session clock is already at " + clock);
+            }
+        }
+        for (int i = 0; i < added.size(); i++) {
+            int row = processes.add(added.pid[i], added.arrivalTime[i], added.burstTime[i], added.priority[i]);
+            simulation.add(row);
+            totalBurstTime += added.burstTime[i];
+        }
+    }
+
+    String state(int row) {
+        if (processes.remainingTime[row] == 0) {
+            return "done";
+        }
+        if (row == simulation.running()) {
+            return "running";
+        }
+        int clock = simulation.time();
+        return clock == Simulation.NOT_STARTED || processes.arrivalTime[row] > clock ? "pending" : "ready";
+    }
+}
@@ -0,0 +1,223 @@
+package main.http;
+
+import java.io.IOException;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import main.BudgetExceededException;
+import main.ProcessTable;
+import main.Simulation;
+
+// Incremental scheduling sessions:
+//   POST   /api/sessions                  create, optionally with initial processes
+//   GET    /api/sessions/{id}             summary plus every process
+//   POST   /api/sessions/{id}/processes   append processes arriving after the session clock
+//   POST   /api/sessions/{id}/advance     run to {"time": T}, or until idle when time is omitted
+//   DELETE /api/sessions/{id}
+public class SessionHandler implements HttpHandler {
+
+    private static final String ROOT = "/api/sessions";
+
+    private final SessionStore sessions;
+    private final RequestLimits limits;
+
+    public SessionHandler(SessionStore sessions, RequestLimits limits) {
+        this.sessions = sessions;
+        this.limits = limits;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+
+        String method = exchange.getRequestMethod();
+        if ("OPTIONS".equalsIgnoreCase(method)) {
+            HttpResponses.send(exchange, 204, "");
+            return;
+        }
+
+        String path = exchange.getRequestURI().getPath();
+        String rest = path.length() > ROOT.length() ? path.substring(ROOT.length() + 1) : "";
+        int slash = rest.indexOf('/');
+        String id = slash < 0 ? rest : rest.substring(0, slash);
+        String action = slash < 0 ? "" : rest.substring(slash + 1);
+
+        try {
+            if (id.isEmpty()) {
+                if (!"POST".equalsIgnoreCase(method)) {
+                    HttpResponses.sendError(exchange, 405, "Method not allowed");
+                    return;
+                }
+                create(exchange);
+                return;
+            }
+
+            Session session = sessions.get(id);
+            if (session == null) {
+                HttpResponses.sendError(exchange, 404, "Unknown session: " + id);
+                return;
+            }
+            String route = method.toUpperCase() + " " + action;
+            switch (route) {
+                case "GET ":
+                    synchronized (session) {
+                        write(exchange, 200, session, true);
+                    }
+                    break;
+                case "DELETE ":
+                    sessions.remove(id);
+                    exchange.sendResponseHeaders(204, -1);
+                    exchange.close();
+                    break;
+                case "POST processes":
+                    append(exchange, session);
+                    break;
+                case "POST advance":
+                    advance(exchange, session);
+                    break;
+                default:
+                    if (action.equals("") || action.equals("processes") || action.equals("advance")) {
+                        HttpResponses.sendError(exchange, 405, "Method not allowed");
+                    } else {
+                        HttpResponses.sendError(exchange, 404, "Not found");
+                    }
+            }
+        } catch (RequestTooLargeException ex) {
+            HttpResponses.sendError(exchange, 413, ex.getMessage());
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendError(exchange, 400, ex.getMessage());
+        } catch (BudgetExceededException ex) {
+            HttpResponses.sendError(exchange, 503, ex.getMessage());
+        } catch (Exception ex) {
+            HttpResponses.sendError(exchange, 500, "Unexpected server error");
+            ex.printStackTrace();
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        ScheduleRequest request = ScheduleRequest.read(exchange.getRequestBody(), false, limits.maxProcesses());
+        if (request.processes != null) {
+            limits.check(request.processes);
+        }
+        Session session = sessions.create(request.algorithm, request.timeQuantum);
+        if (session == null) {
+            HttpResponses.sendError(exchange, 503, "Session limit reached");
+            return;
+        }
+        synchronized (session) {
+            if (request.processes != null) {
+                session.append(request.processes);
+            }
+            exchange.getResponseHeaders().set("Location", ROOT + "/" + session.id);
+            write(exchange, 201, session, false);
+        }
+    }
+
+    private void append(HttpExchange exchange, Session session) throws IOException {
+        ProcessTable processes = ScheduleRequest.read(exchange.getRequestBody(), true, limits.maxProcesses()).processes;
+        synchronized (session) {
+            // The limits cover everything the session holds, not just this batch
+            limits.check((long) session.processes.size() + processes.size(),
+                    session.totalBurstTime + RequestLimits.totalBurstTime(processes));
+            session.append(processes);
+            write(exchange, 200, session, false);
+        }
+    }
+
+    private void advance(HttpExchange exchange, Session session) throws IOException {
+        long started = System.nanoTime();
+        Integer time = ScheduleRequest.read(exchange.getRequestBody(), false, limits.maxProcesses()).time;
+        synchronized (session) {
+            limits.guard(session.simulation, started);
+            try {
+                if (time == null) {
+                    session.simulation.runUntilIdle();
+                } else {
+                    session.simulation.advanceTo(time);
+                }
+            } finally {
+                session.simulation.clearDeadline();
+            }
+            write(exchange, 200, session, false);
+        }
+    }
+
+    // Summaries are O(1); only GET walks the process list
+    private void write(HttpExchange exchange, int status, Session session, boolean withProcesses) throws IOException {
+        Simulation simulation = session.simulation;
+        ProcessTable processes = session.processes;
+        int completed = simulation.completed();
+        int running = simulation.running();
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (JsonWriter json = new JsonWriter(Compression.body(exchange, status))) {
+            json.beginObject()
+                    .name("id").value(session.id)
+                    .name("algorithm").value(session.algorithm);
+            if (session.timeQuantum != null) {
+                json.name("timeQuantum").value(session.timeQuantum);
+            }
+            json.name("time");
+            if (simulation.time() == Simulation.NOT_STARTED) {
+                json.nullValue();
+            } else {
+                json.value(simulation.time());
+            }
+            json.name("processCount").value(processes.size())
+                    .name("completed").value(completed)
+                    .name("running");
+            if (running < 0) {
+                json.nullValue();
+            } else {
+                json.value(processes.pid[running]);
+            }
+            json.name("averageWaitingTime")
+                    .value(ResultWriter.round(completed == 0 ? 0 : (double) simulation.totalWaitingTime() / completed))
+                    .name("averageTurnaroundTime")
+                    .value(ResultWriter.round(completed == 0 ? 0 : (double) simulation.totalTurnaroundTime() / completed));
+
+            if (withProcesses) {
+                json.name("processes").beginArray();
+                for (int i = 0; i < processes.size(); i++) {
+                    writeProcess(json, session, i);
+                }
+                json.endArray();
+            }
+            json.endObject();
+        }
+    }
+
+    // Completion metrics stay null until the process finishes
+    private void writeProcess(JsonWriter json, Session session, int row) throws IOException {
+        ProcessTable processes = session.processes;
+        String state = session.state(row);
+        boolean done = state.equals("done");
+        json.beginObject()
+                .name("pid").value(processes.pid[row])
+                .name("arrivalTime").value(processes.arrivalTime[row])
+                .name("burstTime").value(processes.burstTime[row])
+                .name("priority").value(processes.priority[row])
+                .name("state").value(state)
+                .name("remainingTime").value(processes.remainingTime[row])
+                .name("startTime");
+        if (done || processes.startTime[row] != -1) {
+            json.value(processes.startTime[row]);
+        } else {
+            json.nullValue();
+        }
+        writeMetric(json, "waitingTime", done, processes.waitingTime[row]);
+        writeMetric(json, "turnaroundTime", done, processes.turnaroundTime[row]);
+        writeMetric(json, "completionTime", done, processes.completionTime[row]);
+        json.endObject();
+    }
+
+    private void writeMetric(JsonWriter json, String name, boolean done, int value) throws IOException {
+        json.name(name);
+        if (done) {
+            json.value(value);
+        } else {
+            json.nullValue();
+        }
+    }
+}
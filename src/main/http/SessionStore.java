@@ -0,0 +1,64 @@
+package main.http;
+
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Live incremental sessions, bounded in number and dropped after a period without use
+public final class SessionStore {
+
+    private final int maxSessions;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public SessionStore(int maxSessions, int ttlSeconds) {
+        this.maxSessions = maxSessions;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    // Returns null when the store is full even after dropping expired sessions
+    synchronized Session create(String algorithm, Integer timeQuantum) {
+        if (sessions.size() >= maxSessions) {
+            evictExpired();
+            if (sessions.size() >= maxSessions) {
+                return null;
+            }
+        }
+        Session session = new Session(UUID.randomUUID().toString(), algorithm, timeQuantum);
+        sessions.put(session.id, session);
+        return session;
+    }
+
+    Session get(String id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - session.lastAccess > ttlNanos) {
+            sessions.remove(id, session);
+            return null;
+        }
+        session.lastAccess = now;
+        return session;
+    }
+
+    boolean remove(String id) {
+        return sessions.remove(id) != null;
+    }
+
+    int size() {
+        return sessions.size();
+    }
+
+    private void evictExpired() {
+        long now = System.nanoTime();
+        Iterator<Session> it = sessions.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().lastAccess > ttlNanos) {
+                it.remove();
+            }
+        }
+    }
+}
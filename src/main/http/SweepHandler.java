@@ -0,0 +1,171 @@
+package main.http;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import main.BudgetExceededException;
+import main.ExecutionListener;
+import main.SchedulerFactory;
+import main.Sweep;
+import main.TableScheduler;
+
+// Monte-Carlo comparison: schedules many random workloads with each algorithm and reports the spread of results
+public class SweepHandler implements HttpHandler {
+
+    private final ForkJoinPool pool;
+    private final RequestLimits limits;
+
+    public SweepHandler(ForkJoinPool pool, RequestLimits limits) {
+        this.pool = pool;
+        this.limits = limits;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        HttpResponses.addCorsHeaders(exchange.getResponseHeaders());
+
+        String method = exchange.getRequestMethod();
+        if ("OPTIONS".equalsIgnoreCase(method)) {
+            HttpResponses.send(exchange, 204, "");
+            return;
+        }
+
+        if (!"POST".equalsIgnoreCase(method)) {
+            HttpResponses.sendError(exchange, 405, "Method not allowed");
+            return;
+        }
+
+        Sweep sweep;
+        List<String> labels = new ArrayList<>();
+        List<Integer> quanta = new ArrayList<>();
+        List<Sweep.Summary> summaries;
+        long wallTimeNanos;
+        long started = System.nanoTime();
+        try {
+            ScheduleRequest request = ScheduleRequest.read(exchange.getRequestBody(), false, limits.maxProcesses());
+            if (request.processes != null) {
+                throw new IllegalArgumentException("Sweeps generate their own processes; use processCount instead");
+            }
+            sweep = sweep(request);
+            limits.check((long) sweep.runs * sweep.processCount, sweep.burst.meanBurst());
+            List<TableScheduler> schedulers = plan(request, labels, quanta);
+            long start = System.nanoTime();
+            // Every task gets its own guard, all against the request's deadline
+            summaries = sweep.run(schedulers, pool, () -> limits.guard(ExecutionListener.NONE, started));
+            wallTimeNanos = System.nanoTime() - start;
+        } catch (RequestTooLargeException ex) {
+            HttpResponses.sendError(exchange, 413, ex.getMessage());
+            return;
+        } catch (IllegalArgumentException ex) {
+            HttpResponses.sendError(exchange, 400, ex.getMessage());
+            return;
+        } catch (BudgetExceededException ex) {
+            HttpResponses.sendError(exchange, 503, ex.getMessage());
+            return;
+        } catch (Exception ex) {
+            HttpResponses.sendError(exchange, 500, "Unexpected server error");
+            ex.printStackTrace();
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        try (JsonWriter json = new JsonWriter(Compression.body(exchange, 200))) {
+            json.beginObject()
+                    .name("runs").value(sweep.runs)
+                    .name("processCount").value(sweep.processCount)
+                    .name("seed").value(sweep.seed)
+                    .name("interarrival").value(sweep.interarrival.toString())
+                    .name("burst").value(sweep.burst.toString())
+                    .name("priority").value(sweep.priority.toString())
+                    .name("wallTimeMs").value(ResultWriter.round(wallTimeNanos / 1_000_000.0));
+            json.name("results").beginArray();
+            for (int i = 0; i < summaries.size(); i++) {
+                json.beginObject().name("algorithm").value(labels.get(i));
+                if (quanta.get(i) != null) {
+                    json.name("timeQuantum").value(quanta.get(i));
+                }
+                writeStats(json, "averageWaitingTime", summaries.get(i).waitingTime);
+                writeStats(json, "averageTurnaroundTime", summaries.get(i).turnaroundTime);
+                json.endObject();
+            }
+            json.endArray().endObject();
+        }
+    }
+
+    // Seeds are taken from the int range so the one echoed back can always be sent again
+    private static Sweep sweep(ScheduleRequest request) {
+        Sweep sweep = new Sweep();
+        if (request.runs != null) {
+            sweep.runs = request.runs;
+        }
+        if (request.processCount != null) {
+            sweep.processCount = request.processCount;
+        }
+        sweep.seed = request.seed != null ? request.seed : new SplittableRandom().nextInt();
+        if (request.interarrival != null) {
+            sweep.interarrival = request.interarrival;
+        }
+        if (request.burst != null) {
+            sweep.burst = request.burst;
+        }
+        if (request.priority != null) {
+            sweep.priority = request.priority;
+        }
+        sweep.validate();
+        return sweep;
+    }
+
+    // Same expansion as the compare endpoint: every algorithm, and one entry per quantum for RR and MLFQ
+    private static List<TableScheduler> plan(ScheduleRequest request, List<String> labels, List<Integer> quanta) {
+        List<String> algorithms = request.algorithms;
+        if (algorithms == null) {
+            algorithms = request.algorithm == null ? SchedulerFactory.algorithms() : Collections.singletonList(request.algorithm);
+        }
+        List<Integer> requested = request.timeQuanta;
+        if (requested == null || requested.isEmpty()) {
+            requested = Collections.singletonList(request.timeQuantum);
+        }
+
+        List<TableScheduler> schedulers = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            String label = algorithm == null ? null : algorithm.toUpperCase(Locale.ROOT);
+            if (!SchedulerFactory.usesTimeQuantum(algorithm)) {
+                schedulers.add(request.scheduler(algorithm, null));
+                labels.add(label);
+                quanta.add(null);
+                continue;
+            }
+            for (Integer quantum : requested) {
+                Integer resolved = quantum == null ? SchedulerFactory.DEFAULT_TIME_QUANTUM : quantum;
+                schedulers.add(request.scheduler(algorithm, resolved));
+                labels.add(label);
+                quanta.add(resolved);
+            }
+        }
+        return schedulers;
+    }
+
+    private static void writeStats(JsonWriter json, String name, Sweep.Stats stats) throws IOException {
+        json.name(name).beginObject()
+                .name("mean").value(ResultWriter.round(stats.mean))
+                .name("stddev").value(ResultWriter.round(stats.stddev))
+                .name("confidenceInterval").beginArray()
+                .value(ResultWriter.round(stats.ciLow))
+                .value(ResultWriter.round(stats.ciHigh))
+                .endArray()
+                .name("min").value(ResultWriter.round(stats.min))
+                .name("p50").value(ResultWriter.round(stats.p50))
+                .name("p90").value(ResultWriter.round(stats.p90))
+                .name("p99").value(ResultWriter.round(stats.p99))
+                .name("max").value(ResultWriter.round(stats.max))
+                .endObject();
+    }
+}
@@ -0,0 +1,39 @@
+package main.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Accumulates the time spent blocked in the wrapped stream, to tell network time from parsing time
+final class TimedInputStream extends FilterInputStream {
+
+    private long nanos;
+
+    TimedInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return in.read();
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return in.read(b, off, len);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    long nanos() {
+        return nanos;
+    }
+}
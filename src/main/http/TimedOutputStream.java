@@ -0,0 +1,59 @@
+package main.http;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Accumulates the time spent blocked in the wrapped stream, to tell network time from serialization time
+final class TimedOutputStream extends FilterOutputStream {
+
+    private long nanos;
+
+    TimedOutputStream(OutputStream out) {
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        long start = System.nanoTime();
+        try {
+            out.write(b);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        try {
+            out.write(b, off, len);
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        long start = System.nanoTime();
+        try {
+            out.flush();
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        long start = System.nanoTime();
+        try {
+            out.close();
+        } finally {
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    long nanos() {
+        return nanos;
+    }
+}
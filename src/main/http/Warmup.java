@@ -0,0 +1,163 @@
+package main.http;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import main.CoreUsage;
+import main.ProcessTable;
+import main.ScheduleSummary;
+import main.SchedulerFactory;
+import main.Timeline;
+import main.WorkloadGenerator;
+
+// Runs synthetic requests through the JSON and binary request parsers, every scheduler, single- and multi-core,
+// and the JSON and binary result writers until the JIT stops finding new work. A round counts as settled when it
+// adds little compilation time, and warm-up ends after a few settled rounds in a row or when the time budget runs
+// out.
+public final class Warmup {
+
+    private static final int WORKLOAD_SIZE = 2_000;
+    private static final int MIN_ROUNDS = 5;
+    private static final int SETTLED_ROUNDS = 3;
+    private static final long SETTLED_COMPILE_MILLIS = 5;
+    // Without compilation time monitoring a fixed number of rounds has to do
+    private static final int FALLBACK_ROUNDS = 20;
+
+    public final int rounds;
+    public final long elapsedMillis;
+    // Negative when the JVM does not report compilation time
+    public final long compileMillis;
+
+    private Warmup(int rounds, long elapsedMillis, long compileMillis) {
+        this.rounds = rounds;
+        this.elapsedMillis = elapsedMillis;
+        this.compileMillis = compileMillis;
+    }
+
+    public static Warmup run(long budgetMillis) {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean monitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long startCompile = monitored ? jit.getTotalCompilationTime() : 0;
+        long start = System.nanoTime();
+        long deadline = start + budgetMillis * 1_000_000;
+        long lastCompile = startCompile;
+        int settled = 0;
+        int round = 0;
+        while (System.nanoTime() - deadline < 0) {
+            runRound(round++);
+            if (!monitored) {
+                if (round >= FALLBACK_ROUNDS) {
+                    break;
+                }
+                continue;
+            }
+            long compile = jit.getTotalCompilationTime();
+            settled = compile - lastCompile < SETTLED_COMPILE_MILLIS ? settled + 1 : 0;
+            lastCompile = compile;
+            if (round >= MIN_ROUNDS && settled >= SETTLED_ROUNDS) {
+                break;
+            }
+        }
+        return new Warmup(round, (System.nanoTime() - start) / 1_000_000,
+                monitored ? jit.getTotalCompilationTime() - startCompile : -1);
+    }
+
+    // Every algorithm once on one core and once on two, alternating the request encoding and the response shape
+    // from round to round
+    private static void runRound(int round) {
+        WorkloadGenerator.Shape[] shapes = WorkloadGenerator.Shape.values();
+        ProcessTable workload = WorkloadGenerator.generate(shapes[round % shapes.length], WORKLOAD_SIZE, round);
+        try {
+            byte[] binaryBody = encodeBinary(workload);
+            for (String algorithm : SchedulerFactory.algorithms()) {
+                for (int cores = 1; cores <= 2; cores++) {
+                    ScheduleRequest request = (round + cores) % 2 == 0
+                            ? ScheduleRequest.read(
+                                    new ByteArrayInputStream(encodeRequest(workload, algorithm, cores, round)))
+                            : ScheduleRequest.readBinary(
+                                    new ByteArrayInputStream(binaryBody), query(algorithm, cores, round));
+                    Timeline timeline = request.newTimeline();
+                    ScheduleSummary summary = request.newSummary();
+                    CoreUsage usage = summary == null ? request.newCoreUsage()
+                            : request.cores == null ? null : summary.usage;
+                    request.scheduler().schedule(request.processes,
+                            summary != null ? summary : request.listener(timeline, usage));
+                    if (summary != null) {
+                        summary.record(request.processes);
+                    }
+                    ScheduleHandler.writeJson(OutputStream.nullOutputStream(), request.processes, summary, usage, timeline);
+                    if (summary == null) {
+                        BinaryFormat.writeResult(OutputStream.nullOutputStream(), request.processes, usage, timeline);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            // In-memory streams do not fail
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // BinaryFormat request body: "PROC", version, count, then one record per process
+    private static byte[] encodeBinary(ProcessTable workload) {
+        ByteBuffer body = ByteBuffer.allocate(12 + workload.size() * 16).order(ByteOrder.LITTLE_ENDIAN);
+        body.put("PROC".getBytes(StandardCharsets.US_ASCII)).putInt(BinaryFormat.VERSION).putInt(workload.size());
+        for (int i = 0; i < workload.size(); i++) {
+            body.putInt(workload.pid[i])
+                    .putInt(workload.arrivalTime[i])
+                    .putInt(workload.burstTime[i])
+                    .putInt(workload.priority[i]);
+        }
+        return body.array();
+    }
+
+    // Query string carrying the same options as encodeRequest for a binary body
+    private static String query(String algorithm, int cores, int round) {
+        String query = "algorithm=" + algorithm + "&timeQuantum=" + SchedulerFactory.DEFAULT_TIME_QUANTUM;
+        if (cores > 1) {
+            query += "&cores=" + cores;
+        }
+        if (round % 3 == 1) {
+            query += "&timeline";
+        } else if (round % 3 == 2) {
+            query += "&summaryOnly";
+        }
+        return query;
+    }
+
+    private static byte[] encodeRequest(ProcessTable workload, String algorithm, int cores, int round)
+            throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (JsonWriter json = new JsonWriter(body)) {
+            json.beginObject()
+                    .name("algorithm").value(algorithm)
+                    .name("timeQuantum").value(SchedulerFactory.DEFAULT_TIME_QUANTUM);
+            if (cores > 1) {
+                json.name("cores").value(cores);
+            }
+            if (round % 3 == 1) {
+                json.name("timeline").value(true);
+            } else if (round % 3 == 2) {
+                json.name("summaryOnly").value(true);
+            }
+            json.name("processes").beginArray();
+            for (int i = 0; i < workload.size(); i++) {
+                json.beginObject()
+                        .name("pid").value(workload.pid[i])
+                        .name("arrivalTime").value(workload.arrivalTime[i])
+                        .name("burstTime").value(workload.burstTime[i])
+                        .name("priority").value(workload.priority[i])
+                        .endObject();
+            }
+            json.endArray().endObject();
+        }
+        return body.toByteArray();
+    }
+}
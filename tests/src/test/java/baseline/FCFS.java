@@ -0,0 +1,28 @@
+package baseline;
+
+import java.util.Comparator;
+import java.util.List;
+
+import main.Process;
+import main.Scheduler;
+
+// The original list-based FCFS, kept unchanged as the reference for the differential tests
+public class FCFS implements Scheduler {
+    public void schedule(List<Process> processes) {
+        processes.sort(Comparator.comparingInt(p -> p.arrivalTime));
+        
+        int time = 0;
+        for (Process p : processes) {
+            if (time < p.arrivalTime) {
+                time = p.arrivalTime;
+            }
+            if (p.startTime < 0) {
+                p.startTime = time;
+            }
+            p.waitingTime = time - p.arrivalTime;
+            time += p.burstTime;
+            p.completionTime = time;
+            p.turnaroundTime = p.waitingTime + p.burstTime;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+// The table-based schedulers must give exactly the results of the original list-based ones, through both the list
+// API and the table API, and their timelines must account for every unit of every burst
+class BaselineDifferentialTest {
+
+    private static final int ITERATIONS = 3000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"FCFS", "SRTF", "RR", "NPP"})
+    void matchesBaseline(String algorithm) {
+        Random random = new Random(algorithm.hashCode());
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            List<Process> input = Workloads.random(random, iteration);
+            int quantum = 1 + random.nextInt(6);
+            String context = algorithm + " q=" + quantum + " iteration " + iteration;
+
+            List<Process> expected = Workloads.copy(input);
+            baseline(algorithm, quantum).schedule(expected);
+
+            List<Process> viaList = Workloads.copy(input);
+            SchedulerFactory.create(algorithm, quantum).schedule(viaList);
+            assertEquals(Workloads.dump(expected), Workloads.dump(viaList), context);
+
+            ProcessTable table = ProcessTable.of(input);
+            Timeline timeline = new Timeline(Integer.MAX_VALUE);
+            SchedulerFactory.create(algorithm, quantum).schedule(table, timeline);
+            assertEquals(Workloads.dump(expected), Workloads.dump(table), context);
+            assertNull(Workloads.checkTimeline(table, timeline), context);
+        }
+    }
+
+    private static Scheduler baseline(String algorithm, int quantum) {
+        switch (algorithm) {
+            case "FCFS":
+                return new baseline.FCFS();
+            case "SRTF":
+                return new baseline.SRTF();
+            case "RR":
+                return new baseline.RR(quantum);
+            case "NPP":
+                return new baseline.NPP();
+            default:
+                throw new IllegalArgumentException(algorithm);
+        }
+    }
+}
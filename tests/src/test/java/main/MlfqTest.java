@@ -0,0 +1,124 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import main.algorithms.MLFQ;
+import main.algorithms.RR;
+
+// MLFQ has no baseline, so it is checked against a unit-by-unit reference written from the rules in the README
+class MlfqTest {
+
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    void matchesReference() {
+        Random random = new Random(11);
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            int[] quanta = new int[1 + random.nextInt(5)];
+            for (int i = 0; i < quanta.length; i++) {
+                quanta[i] = 1 + random.nextInt(6);
+            }
+            int boost = random.nextInt(3) == 0 ? 0 : 1 + random.nextInt(40);
+            ProcessTable table = ProcessTable.of(Workloads.random(random, iteration));
+            ProcessTable expected = table.copy();
+            reference(expected, quanta, boost);
+
+            Timeline timeline = new Timeline(Integer.MAX_VALUE);
+            new MLFQ(quanta, boost).schedule(table, timeline);
+            String context = "quanta " + Arrays.toString(quanta) + " boost " + boost + " iteration " + iteration;
+            assertEquals(Workloads.dump(expected), Workloads.dump(table), context);
+            assertNull(Workloads.checkTimeline(table, timeline), context);
+        }
+    }
+
+    @Test
+    void oneLevelWithoutBoostIsRoundRobin() {
+        Random random = new Random(12);
+        for (int iteration = 0; iteration < 3000; iteration++) {
+            int quantum = 1 + random.nextInt(6);
+            ProcessTable table = ProcessTable.of(Workloads.random(random, iteration));
+            ProcessTable expected = table.copy();
+            new RR(quantum).schedule(expected);
+            new MLFQ(new int[] {quantum}, 0).schedule(table);
+            assertEquals(Workloads.dump(expected), Workloads.dump(table), "q=" + quantum + " iteration " + iteration);
+        }
+    }
+
+    // New processes join the top level; a used-up quantum demotes one level; an arrival preempts a process below
+    // the top level, which keeps its level; at each multiple of the boost interval everything waiting returns to
+    // the top level
+    private static void reference(ProcessTable table, int[] quanta, int boost) {
+        table.sortByArrival();
+        int count = table.size();
+        int levels = quanta.length;
+        List<ArrayDeque<Integer>> queues = new ArrayList<>();
+        for (int i = 0; i < levels; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+        int time = 0;
+        int next = 0;
+        int done = 0;
+        long nextBoost = boost > 0 ? boost : Long.MAX_VALUE;
+        while (done < count) {
+            while (next < count && table.arrivalTime[next] <= time) {
+                queues.get(0).add(next++);
+            }
+            int level = -1;
+            for (int i = 0; i < levels; i++) {
+                if (!queues.get(i).isEmpty()) {
+                    level = i;
+                    break;
+                }
+            }
+            if (level < 0) {
+                time = table.arrivalTime[next];
+                continue;
+            }
+            if (time >= nextBoost) {
+                for (int i = 1; i < levels; i++) {
+                    queues.get(0).addAll(queues.get(i));
+                    queues.get(i).clear();
+                }
+                nextBoost = (time / boost + 1) * (long) boost;
+                level = 0;
+            }
+            int row = queues.get(level).poll();
+            if (table.startTime[row] < 0) {
+                table.startTime[row] = time;
+            }
+            int used = 0;
+            boolean preempted = false;
+            while (used < quanta[level] && table.remainingTime[row] > 0) {
+                time++;
+                used++;
+                table.remainingTime[row]--;
+                boolean arrived = false;
+                while (next < count && table.arrivalTime[next] <= time) {
+                    queues.get(0).add(next++);
+                    arrived = true;
+                }
+                if (arrived && level > 0 && used < quanta[level] && table.remainingTime[row] > 0) {
+                    preempted = true;
+                    break;
+                }
+            }
+            if (table.remainingTime[row] > 0) {
+                queues.get(preempted ? level : Math.min(level + 1, levels - 1)).add(row);
+            } else {
+                table.completionTime[row] = time;
+                table.turnaroundTime[row] = time - table.arrivalTime[row];
+                table.waitingTime[row] = table.turnaroundTime[row] - table.burstTime[row];
+                done++;
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import main.algorithms.MultiCore;
+
+class MultiCoreTest {
+
+    private static final int ITERATIONS = 2000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"FCFS", "SRTF", "RR", "NPP", "MLFQ"})
+    void oneCoreMatchesTheSingleCoreScheduler(String algorithm) {
+        Random random = new Random(algorithm.hashCode());
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            int quantum = 1 + random.nextInt(5);
+            TableScheduler scheduler = SchedulerFactory.create(algorithm, quantum);
+            ProcessTable single = ProcessTable.of(Workloads.random(random, iteration));
+            ProcessTable multi = single.copy();
+            Timeline singleTimeline = new Timeline(Integer.MAX_VALUE);
+            scheduler.schedule(single, singleTimeline);
+            for (MultiCore.LoadBalancing balancing : MultiCore.LoadBalancing.values()) {
+                ProcessTable table = multi.copy();
+                Timeline timeline = new Timeline(Integer.MAX_VALUE);
+                new MultiCore(scheduler, 1, balancing).schedule(table, timeline);
+                String context = algorithm + " " + balancing + " q=" + quantum + " iteration " + iteration;
+                assertEquals(Workloads.dump(single), Workloads.dump(table), context);
+                assertEquals(segments(singleTimeline), segments(timeline), context);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"FCFS", "SRTF", "RR", "NPP", "MLFQ"})
+    void everyCoreRunsOneProcessAtATime(String algorithm) {
+        Random random = new Random(algorithm.hashCode() + 1);
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            int cores = 2 + random.nextInt(4);
+            MultiCore.LoadBalancing balancing = MultiCore.LoadBalancing.values()[iteration % 3];
+            ProcessTable table = ProcessTable.of(Workloads.random(random, iteration));
+            Timeline timeline = new Timeline(Integer.MAX_VALUE);
+            CoreUsage usage = new CoreUsage(cores);
+            new MultiCore(SchedulerFactory.create(algorithm, 1 + random.nextInt(5)), cores, balancing)
+                    .schedule(table, ExecutionListener.combine(timeline, usage));
+            String context = algorithm + " " + balancing + " cores=" + cores + " iteration " + iteration;
+            check(table, timeline, usage, cores, context);
+        }
+    }
+
+    // Segments do not overlap on a core, a process never runs on two cores at once, every burst is served in full
+    // and the reported busy time adds up
+    private static void check(ProcessTable table, Timeline timeline, CoreUsage usage, int cores, String context) {
+        long[] ran = new long[table.size()];
+        long[] busy = new long[cores];
+        int[] coreEnd = new int[cores];
+        Arrays.fill(coreEnd, Integer.MIN_VALUE);
+        List<int[]> runs = new ArrayList<>();
+        for (int i = 0; i < timeline.size(); i++) {
+            int core = timeline.core(i);
+            if (timeline.start(i) < coreEnd[core]) {
+                fail("overlap on core " + core + ": " + context);
+            }
+            coreEnd[core] = timeline.end(i);
+            int row = timeline.row(i);
+            if (row != Timeline.IDLE) {
+                ran[row] += timeline.end(i) - timeline.start(i);
+                busy[core] += timeline.end(i) - timeline.start(i);
+                runs.add(new int[] {row, timeline.start(i), timeline.end(i)});
+            }
+        }
+        runs.sort((a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+        for (int i = 1; i < runs.size(); i++) {
+            boolean sameRow = runs.get(i)[0] == runs.get(i - 1)[0];
+            assertTrue(!sameRow || runs.get(i)[1] >= runs.get(i - 1)[2], "process on two cores at once: " + context);
+        }
+        for (int row = 0; row < table.size(); row++) {
+            assertEquals(table.burstTime[row], ran[row], "row " + row + ": " + context);
+            assertEquals(table.completionTime[row] - table.arrivalTime[row], table.turnaroundTime[row], context);
+            assertEquals(table.turnaroundTime[row] - table.burstTime[row], table.waitingTime[row], context);
+        }
+        for (int core = 0; core < cores; core++) {
+            assertEquals(busy[core], usage.busyTime(core), "core " + core + ": " + context);
+        }
+    }
+
+    private static String segments(Timeline timeline) {
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < timeline.size(); i++) {
+            out.append(timeline.row(i)).append('@').append(timeline.start(i))
+                    .append('-').append(timeline.end(i)).append(' ');
+        }
+        return out.toString();
+    }
+}
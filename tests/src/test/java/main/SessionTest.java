@@ -0,0 +1,101 @@
+package main;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+// A session fed its processes in batches, with the clock advanced in between, must end with the results of one
+// batch run over all of them
+class SessionTest {
+
+    private static final int ITERATIONS = 5000;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"FCFS", "SRTF", "RR", "NPP"})
+    void matchesBatchRun(String algorithm) {
+        Random random = new Random(algorithm.hashCode());
+        for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            int quantum = 1 + random.nextInt(6);
+            List<Process> input = Workloads.random(random, iteration);
+            ProcessTable session = new ProcessTable(1);
+            Simulation simulation = SchedulerFactory.create(algorithm, quantum).simulate(session);
+            List<Process> added = feed(simulation, session, input, random);
+            simulation.runUntilIdle();
+
+            ProcessTable batch = ProcessTable.of(added);
+            SchedulerFactory.create(algorithm, quantum).schedule(batch);
+            session.sortByArrival();
+            String context = algorithm + " q=" + quantum + " iteration " + iteration;
+            assertEquals(Workloads.dump(batch), Workloads.dump(session), context);
+            assertEquals(input.size(), simulation.completed(), context);
+        }
+    }
+
+    // An expired deadline stops every advance after a few dispatches; advancing again must carry on exactly where
+    // the last one stopped
+    @ParameterizedTest
+    @ValueSource(strings = {"FCFS", "SRTF", "RR", "NPP"})
+    void resumesAfterRunningOutOfBudget(String algorithm) {
+        ProcessTable input = WorkloadGenerator.generate(WorkloadGenerator.Shape.BURSTY, 2000, algorithm.hashCode());
+        ProcessTable session = new ProcessTable(1);
+        Simulation simulation = SchedulerFactory.create(algorithm, 2).simulate(session);
+        for (int i = 0; i < input.size(); i++) {
+            simulation.add(session.add(input.pid[i], input.arrivalTime[i], input.burstTime[i], input.priority[i]));
+        }
+        simulation.setDeadline(System.nanoTime() - 1);
+        int stops = 0;
+        while (true) {
+            try {
+                simulation.runUntilIdle();
+                break;
+            } catch (BudgetExceededException ex) {
+                stops++;
+            }
+        }
+        assertTrue(stops > 0, algorithm);
+
+        ProcessTable batch = input.copy();
+        SchedulerFactory.create(algorithm, 2).schedule(batch);
+        session.sortByArrival();
+        assertEquals(Workloads.dump(batch), Workloads.dump(session), algorithm);
+        assertEquals(input.size(), simulation.completed(), algorithm);
+    }
+
+    // Adds random subsets in turn, advancing the clock to a random point before the next arrival still to come.
+    // Returns the processes in the order they were added.
+    private static List<Process> feed(Simulation simulation, ProcessTable session, List<Process> input, Random random) {
+        List<Process> remaining = new ArrayList<>(input);
+        List<Process> added = new ArrayList<>();
+        int clock = Integer.MIN_VALUE;
+        while (!remaining.isEmpty()) {
+            for (Iterator<Process> it = remaining.iterator(); it.hasNext(); ) {
+                Process p = it.next();
+                if (random.nextInt(3) == 0) {
+                    simulation.add(session.add(p.pid, p.arrivalTime, p.burstTime, p.priority));
+                    added.add(p);
+                    it.remove();
+                }
+            }
+            int nextArrival = Integer.MAX_VALUE;
+            for (Process p : remaining) {
+                nextArrival = Math.min(nextArrival, p.arrivalTime);
+            }
+            if (remaining.isEmpty()) {
+                break;
+            }
+            int low = clock == Integer.MIN_VALUE ? -25 : clock;
+            if (nextArrival - 1 > low) {
+                clock = low + random.nextInt(nextArrival - low);
+                simulation.advanceTo(clock);
+            }
+        }
+        return added;
+    }
+}
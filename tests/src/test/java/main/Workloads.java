@@ -0,0 +1,112 @@
+package main;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// Small random workloads for the differential tests, with the awkward cases mixed in: duplicate pids, arrivals
+// before zero, idle gaps, equal arrivals and bursts far longer than a quantum
+final class Workloads {
+
+    private Workloads() {
+    }
+
+    static List<Process> random(Random random, int iteration) {
+        int count = random.nextInt(30);
+        int maxArrival = 1 + random.nextInt(60);
+        int maxBurst = 1 + random.nextInt(iteration % 3 == 0 ? 200 : 10);
+        int shift = iteration % 7 == 0 ? -20 : 0;
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int pid = random.nextInt(4) == 0 ? random.nextInt(5) : i + 1;
+            processes.add(new Process(pid, random.nextInt(maxArrival) + shift, 1 + random.nextInt(maxBurst),
+                    random.nextInt(4)));
+        }
+        return processes;
+    }
+
+    static List<Process> copy(List<Process> processes) {
+        List<Process> copy = new ArrayList<>();
+        for (Process process : processes) {
+            copy.add(process.copy());
+        }
+        return copy;
+    }
+
+    static List<Process> toList(ProcessTable table) {
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < table.size(); i++) {
+            processes.add(table.toProcess(i));
+        }
+        return processes;
+    }
+
+    // Every input and result field, in list order
+    static String dump(List<Process> processes) {
+        StringBuilder out = new StringBuilder();
+        for (Process p : processes) {
+            out.append('[').append(p.pid)
+                    .append(" a").append(p.arrivalTime)
+                    .append(" b").append(p.burstTime)
+                    .append(" p").append(p.priority)
+                    .append(" s").append(p.startTime)
+                    .append(" c").append(p.completionTime)
+                    .append(" w").append(p.waitingTime)
+                    .append(" t").append(p.turnaroundTime)
+                    .append(']');
+        }
+        return out.toString();
+    }
+
+    static String dump(ProcessTable table) {
+        return dump(toList(table));
+    }
+
+    // Checks a single-core timeline against the table: segments are non-empty, contiguous and merged, idle only
+    // between processes, and every process runs for its whole burst and ends at its completion.
+    // Returns null when it holds.
+    static String checkTimeline(ProcessTable table, Timeline timeline) {
+        int count = table.size();
+        long[] ran = new long[count];
+        int[] first = new int[count];
+        int[] last = new int[count];
+        Arrays.fill(first, Integer.MIN_VALUE);
+        for (int i = 0; i < timeline.size(); i++) {
+            if (timeline.start(i) >= timeline.end(i)) {
+                return "empty segment " + i;
+            }
+            if (i > 0 && timeline.start(i) != timeline.end(i - 1)) {
+                return "gap before segment " + i;
+            }
+            if (i > 0 && timeline.row(i) == timeline.row(i - 1)) {
+                return "unmerged segment " + i;
+            }
+            int row = timeline.row(i);
+            if (row == Timeline.IDLE) {
+                if (i == 0 || i == timeline.size() - 1) {
+                    return "idle segment at the edge";
+                }
+                continue;
+            }
+            ran[row] += timeline.end(i) - timeline.start(i);
+            if (first[row] == Integer.MIN_VALUE) {
+                first[row] = timeline.start(i);
+            }
+            last[row] = timeline.end(i);
+        }
+        for (int row = 0; row < count; row++) {
+            if (ran[row] != table.burstTime[row]) {
+                return "row " + row + " ran " + ran[row] + " of " + table.burstTime[row];
+            }
+            if (last[row] != table.completionTime[row]) {
+                return "row " + row + " ends at " + last[row] + ", completion " + table.completionTime[row];
+            }
+            // Like the original schedulers, a start before zero is overwritten by the next dispatch at or after zero
+            if (first[row] >= 0 && first[row] != table.startTime[row]) {
+                return "row " + row + " first runs at " + first[row] + ", start " + table.startTime[row];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,115 @@
+package main.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import main.CoreUsage;
+import main.ExecutionListener;
+import main.ProcessTable;
+import main.SchedulerFactory;
+import main.Timeline;
+import main.WorkloadGenerator;
+
+class BinaryFormatTest {
+
+    @Test
+    void readsWhatWasEncoded() throws IOException {
+        ProcessTable workload = WorkloadGenerator.generate(WorkloadGenerator.Shape.MANY_PRIORITIES, 100_000, 3);
+        ProcessTable read = BinaryFormat.readProcesses(new ByteArrayInputStream(encode(workload)));
+        assertEquals(workload.size(), read.size());
+        assertArrayEquals(Arrays.copyOf(workload.pid, workload.size()), Arrays.copyOf(read.pid, read.size()));
+        assertArrayEquals(Arrays.copyOf(workload.arrivalTime, workload.size()),
+                Arrays.copyOf(read.arrivalTime, read.size()));
+        assertArrayEquals(Arrays.copyOf(workload.burstTime, workload.size()), Arrays.copyOf(read.burstTime, read.size()));
+        assertArrayEquals(Arrays.copyOf(workload.priority, workload.size()), Arrays.copyOf(read.priority, read.size()));
+    }
+
+    @Test
+    void rejectsADeclaredCountOverTheLimitBeforeReadingRecords() {
+        ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+        header.put("PROC".getBytes(StandardCharsets.US_ASCII)).putInt(BinaryFormat.VERSION).putInt(Integer.MAX_VALUE);
+        InputStream body = new ByteArrayInputStream(header.array()) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                if (pos >= 12) {
+                    throw new AssertionError("read past the header");
+                }
+                return super.read(b, off, len);
+            }
+        };
+        assertThrows(RequestTooLargeException.class, () -> BinaryFormat.readProcesses(body, 1000));
+    }
+
+    @Test
+    void rejectsMalformedBodies() {
+        ProcessTable workload = WorkloadGenerator.generate(WorkloadGenerator.Shape.UNIFORM, 10, 1);
+        byte[] body = encode(workload);
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryFormat.readProcesses(new ByteArrayInputStream(Arrays.copyOf(body, body.length - 1))));
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryFormat.readProcesses(new ByteArrayInputStream(Arrays.copyOf(body, body.length + 4))));
+        byte[] wrongMagic = body.clone();
+        wrongMagic[0] = 'X';
+        assertThrows(IllegalArgumentException.class,
+                () -> BinaryFormat.readProcesses(new ByteArrayInputStream(wrongMagic)));
+    }
+
+    @Test
+    void writesEveryResultField() throws IOException {
+        ProcessTable table = WorkloadGenerator.generate(WorkloadGenerator.Shape.BURSTY, 1000, 5);
+        Timeline timeline = new Timeline(Integer.MAX_VALUE);
+        CoreUsage usage = new CoreUsage(1);
+        SchedulerFactory.create("RR", 3).schedule(table, ExecutionListener.combine(timeline, usage));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryFormat.writeResult(out, table, usage, timeline);
+
+        ByteBuffer result = ByteBuffer.wrap(out.toByteArray()).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] magic = new byte[4];
+        result.get(magic);
+        assertEquals("SCHD", new String(magic, StandardCharsets.US_ASCII));
+        assertEquals(BinaryFormat.VERSION, result.getInt());
+        assertEquals(BinaryFormat.FLAG_CORE_USAGE | BinaryFormat.FLAG_TIMELINE, result.getInt());
+        assertEquals(table.size(), result.getInt());
+        long waiting = 0;
+        for (int i = 0; i < table.size(); i++) {
+            int[] expected = {table.pid[i], table.arrivalTime[i], table.burstTime[i], table.priority[i],
+                    table.waitingTime[i], table.turnaroundTime[i], table.startTime[i], table.completionTime[i]};
+            for (int field : expected) {
+                assertEquals(field, result.getInt(), "row " + i);
+            }
+            waiting += table.waitingTime[i];
+        }
+        assertEquals((double) waiting / table.size(), result.getDouble());
+        result.getDouble();
+        assertEquals(usage.makespan(), result.getLong());
+        assertEquals(1, result.getInt());
+        assertEquals(usage.busyTime(0), result.getLong());
+        assertEquals(timeline.size(), result.getInt());
+        assertEquals(timeline.size() * 20, result.remaining());
+    }
+
+    // "PROC", version, count, then pid, arrivalTime, burstTime and priority per process
+    static byte[] encode(ProcessTable workload) {
+        ByteBuffer body = ByteBuffer.allocate(12 + workload.size() * 16).order(ByteOrder.LITTLE_ENDIAN);
+        body.put("PROC".getBytes(StandardCharsets.US_ASCII)).putInt(BinaryFormat.VERSION).putInt(workload.size());
+        for (int i = 0; i < workload.size(); i++) {
+            body.putInt(workload.pid[i])
+                    .putInt(workload.arrivalTime[i])
+                    .putInt(workload.burstTime[i])
+                    .putInt(workload.priority[i]);
+        }
+        return body.array();
+    }
+}
@@ -0,0 +1,211 @@
+package main.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import main.WorkloadGenerator;
+
+// Runs the handlers behind the same filters Main installs, on an ephemeral port
+class HandlerTest {
+
+    private static final String BODY = "{\"algorithm\":\"RR\",\"timeQuantum\":2,\"processes\":["
+            + "{\"pid\":1,\"arrivalTime\":0,\"burstTime\":5,\"priority\":2},"
+            + "{\"pid\":2,\"arrivalTime\":1,\"burstTime\":3,\"priority\":1},"
+            + "{\"pid\":3,\"arrivalTime\":2,\"burstTime\":8,\"priority\":3}]}";
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private HttpServer server;
+    private AdmissionControl admission;
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    @Test
+    void decodesGzipBodiesAndCompressesResponses() throws Exception {
+        start(RequestLimits.NONE, 16, new ResultCache(0, 0));
+        HttpRequest request = post("/api/schedule", gzip(BODY.getBytes(StandardCharsets.UTF_8)))
+                .header("Content-Encoding", "gzip")
+                .header("Accept-Encoding", "gzip")
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        assertEquals(200, response.statusCode());
+        assertEquals("gzip", response.headers().firstValue("Content-Encoding").orElse(null));
+        String json = gunzip(response.body());
+        assertTrue(json.contains("\"averageWaitingTime\""), json);
+    }
+
+    @Test
+    void answersRepeatsFromTheCacheAndMatchingETagsWith304() throws Exception {
+        ResultCache cache = new ResultCache(16, 1 << 20);
+        start(RequestLimits.NONE, 16, cache);
+        HttpResponse<String> first = send(post("/api/schedule", BODY));
+        assertEquals(200, first.statusCode());
+        assertEquals("MISS", first.headers().firstValue("X-Cache").orElse(null));
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+
+        HttpResponse<String> second = send(post("/api/schedule", BODY));
+        assertEquals("HIT", second.headers().firstValue("X-Cache").orElse(null));
+        assertEquals(first.body(), second.body());
+
+        HttpResponse<String> revalidated = send(post("/api/schedule", BODY).header("If-None-Match", etag));
+        assertEquals(304, revalidated.statusCode());
+        assertEquals("", revalidated.body());
+        assertEquals(etag, revalidated.headers().firstValue("ETag").orElse(null));
+    }
+
+    @Test
+    void refusesRequestsOverTheLimitsWith413() throws Exception {
+        start(new RequestLimits(2, 10, 0), 16, new ResultCache(0, 0));
+        HttpResponse<String> tooMany = send(post("/api/schedule", BODY));
+        assertEquals(413, tooMany.statusCode());
+
+        String twoLong = "{\"algorithm\":\"FCFS\",\"processes\":[{\"pid\":1,\"arrivalTime\":0,\"burstTime\":8},"
+                + "{\"pid\":2,\"arrivalTime\":0,\"burstTime\":8}]}";
+        HttpResponse<String> tooLong = send(post("/api/schedule", twoLong));
+        assertEquals(413, tooLong.statusCode());
+
+        byte[] binary = BinaryFormatTest.encode(WorkloadGenerator.generate(WorkloadGenerator.Shape.UNIFORM, 3, 1));
+        HttpResponse<String> binaryTooMany = send(post("/api/schedule?algorithm=FCFS", binary)
+                .header("Content-Type", BinaryFormat.CONTENT_TYPE));
+        assertEquals(413, binaryTooMany.statusCode());
+
+        // One process, but two runs over it
+        HttpResponse<String> compareRuns = send(post("/api/schedule/compare",
+                "{\"algorithms\":[\"FCFS\",\"NPP\"],\"processes\":[{\"pid\":1,\"arrivalTime\":0,\"burstTime\":6}]}"));
+        assertEquals(413, compareRuns.statusCode());
+    }
+
+    @Test
+    void stopsRunsOverTheWallClockBudgetWith503() throws Exception {
+        start(new RequestLimits(0, 0, 1), 16, new ResultCache(0, 0));
+        byte[] binary = BinaryFormatTest.encode(
+                WorkloadGenerator.generate(WorkloadGenerator.Shape.HEAVY_TAILED, 200_000, 7));
+        HttpResponse<String> response = send(post("/api/schedule?algorithm=RR&timeQuantum=1", binary)
+                .header("Content-Type", BinaryFormat.CONTENT_TYPE));
+        assertEquals(503, response.statusCode());
+        assertTrue(response.body().contains("budget"), response.body());
+    }
+
+    @Test
+    void answersRequestsOverTheInFlightLimitWith503() throws Exception {
+        start(RequestLimits.NONE, 1, new ResultCache(0, 0));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        register("/slow", exchange -> {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            HttpResponses.send(exchange, 200, "{}");
+        });
+
+        CompletableFuture<HttpResponse<String>> slow = client.sendAsync(post("/slow", "{}").build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        HttpResponse<String> rejected = send(post("/api/schedule", BODY));
+        assertEquals(503, rejected.statusCode());
+        assertEquals("1", rejected.headers().firstValue("Retry-After").orElse(null));
+
+        release.countDown();
+        assertEquals(200, slow.get(10, TimeUnit.SECONDS).statusCode());
+    }
+
+    @Test
+    void reportsReadinessWithoutABodyOnHead() throws Exception {
+        start(RequestLimits.NONE, 16, new ResultCache(0, 0));
+        ReadyHandler ready = new ReadyHandler();
+        server.createContext("/api/ready", ready);
+        HttpRequest head = HttpRequest.newBuilder(uri("/api/ready"))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
+
+        HttpResponse<String> warming = client.send(head, HttpResponse.BodyHandlers.ofString());
+        assertEquals(503, warming.statusCode());
+        assertEquals("", warming.body());
+        assertEquals("1", warming.headers().firstValue("Retry-After").orElse(null));
+
+        ready.markReady();
+        HttpResponse<String> warm = client.send(head, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, warm.statusCode());
+        assertEquals("", warm.body());
+        HttpResponse<String> get = send(HttpRequest.newBuilder(uri("/api/ready")));
+        assertEquals("{\"ready\":true}", get.body());
+    }
+
+    private void start(RequestLimits limits, int maxInFlight, ResultCache cache) throws IOException {
+        admission = new AdmissionControl(workers, maxInFlight);
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        register("/api/schedule", new ScheduleHandler(cache, new Metrics(), limits));
+        register("/api/schedule/compare", new CompareHandler(ForkJoinPool.commonPool(), limits));
+        server.setExecutor(admission);
+        server.start();
+    }
+
+    // The filters Main.register installs, apart from metrics
+    private void register(String path, HttpHandler handler) {
+        HttpContext context = server.createContext(path, handler);
+        context.getFilters().add(admission.filter());
+        context.getFilters().add(new Compression(0).filter());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return post(path, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private HttpRequest.Builder post(String path, byte[] body) {
+        return HttpRequest.newBuilder(uri(path)).POST(HttpRequest.BodyPublishers.ofByteArray(body));
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
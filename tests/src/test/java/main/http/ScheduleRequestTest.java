@@ -0,0 +1,51 @@
+package main.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+class ScheduleRequestTest {
+
+    private static final String PROCESS = "{\"pid\":1,\"arrivalTime\":0,\"burstTime\":3,\"priority\":0}";
+
+    @Test
+    void readsUpToTheProcessLimit() throws IOException {
+        ScheduleRequest request = ScheduleRequest.read(body(5), true, 5);
+        assertEquals(5, request.processes.size());
+        assertEquals("FCFS", request.algorithm);
+    }
+
+    @Test
+    void stopsAsSoonAsTheProcessLimitIsPassed() {
+        // An endless array: the parser has to give up on its own instead of reading it all
+        InputStream endless = new SequenceInputStream(
+                new ByteArrayInputStream(("{\"algorithm\":\"FCFS\",\"processes\":[" + PROCESS)
+                        .getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    private final byte[] next = ("," + PROCESS).getBytes(StandardCharsets.UTF_8);
+                    private int position;
+
+                    @Override
+                    public int read() {
+                        int b = next[position];
+                        position = (position + 1) % next.length;
+                        return b;
+                    }
+                });
+        assertThrows(RequestTooLargeException.class, () -> ScheduleRequest.read(endless, true, 1000));
+    }
+
+    private static InputStream body(int processes) {
+        String json = "{\"algorithm\":\"FCFS\",\"processes\":["
+                + String.join(",", Collections.nCopies(processes, PROCESS)) + "]}";
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}